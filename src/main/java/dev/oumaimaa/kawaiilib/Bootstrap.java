@@ -6,13 +6,23 @@ import dev.oumaimaa.kawaiilib.annotations.DiscordBot;
 import dev.oumaimaa.kawaiilib.annotations.KawaiiPlugin;
 import dev.oumaimaa.kawaiilib.managers.command.CommandManager;
 import dev.oumaimaa.kawaiilib.managers.config.ConfigManager;
+import dev.oumaimaa.kawaiilib.managers.config.FileWatcher;
 import dev.oumaimaa.kawaiilib.managers.database.DatabaseManager;
+import dev.oumaimaa.kawaiilib.managers.database.KeyValueStore;
+import dev.oumaimaa.kawaiilib.managers.database.SchemaMigrator;
 import dev.oumaimaa.kawaiilib.managers.discord.DiscordManager;
 import dev.oumaimaa.kawaiilib.managers.event.EventManager;
 import dev.oumaimaa.kawaiilib.managers.gui.MenuManager;
+import dev.oumaimaa.kawaiilib.managers.gui.SkullService;
 import dev.oumaimaa.kawaiilib.managers.lang.LanguageManager;
+import dev.oumaimaa.kawaiilib.managers.player.PlayerDataManager;
 import dev.oumaimaa.kawaiilib.managers.scheduler.TaskManager;
 import dev.oumaimaa.kawaiilib.managers.update.UpdateChecker;
+import dev.oumaimaa.kawaiilib.managers.visual.BossBarService;
+import dev.oumaimaa.kawaiilib.managers.visual.EffectDispatcher;
+import dev.oumaimaa.kawaiilib.managers.visual.HudManager;
+import dev.oumaimaa.kawaiilib.managers.visual.ParticleEngine;
+import dev.oumaimaa.kawaiilib.managers.visual.ParticleRenderer;
 import dev.oumaimaa.kawaiilib.utils.CooldownManager;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
@@ -23,6 +33,8 @@ import org.reflections.Reflections;
 import org.reflections.scanners.Scanners;
 import org.reflections.util.ConfigurationBuilder;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.Set;
 import java.util.logging.Level;
 
@@ -34,12 +46,21 @@ public final class Bootstrap extends JavaPlugin {
     private CommandManager commandManager;
     private EventManager eventManager;
     private MenuManager menuManager;
+    private SkullService skullService;
     private ConfigManager configManager;
+    private FileWatcher fileWatcher;
     private DatabaseManager databaseManager;
+    private KeyValueStore keyValueStore;
     private DiscordManager discordManager;
     private LanguageManager languageManager;
     private TaskManager taskManager;
+    private PlayerDataManager playerDataManager;
     private UpdateChecker updateChecker;
+    private ParticleRenderer particleRenderer;
+    private ParticleEngine particleEngine;
+    private HudManager hudManager;
+    private BossBarService bossBarService;
+    private EffectDispatcher effectDispatcher;
     private CooldownManager cooldownManager;
     private org.bstats.bukkit.Metrics metrics;
 
@@ -93,7 +114,13 @@ public final class Bootstrap extends JavaPlugin {
         // Initialize database if configured
         Set<Class<?>> dbClasses = reflections.getTypesAnnotatedWith(Database.class);
         if (!dbClasses.isEmpty()) {
-            databaseManager = new DatabaseManager(this, dbClasses.iterator().next().getAnnotation(Database.class));
+            Database dbConfig = dbClasses.iterator().next().getAnnotation(Database.class);
+            if (dbConfig.type().equalsIgnoreCase("KV")) {
+                keyValueStore = new KeyValueStore(this, getDataFolder().toPath().resolve("kv"));
+            } else {
+                databaseManager = new DatabaseManager(this, dbConfig);
+                new SchemaMigrator(this, databaseManager, dbConfig.migrations()).migrate();
+            }
         }
 
         // Initialize Discord if configured
@@ -105,8 +132,19 @@ public final class Bootstrap extends JavaPlugin {
         // Initialize core managers
         commandManager = new CommandManager(this, mainClass);
         eventManager = new EventManager(this, mainClass);
+        skullService = new SkullService(this, getConfig().getInt("skulls.memory-size", 512),
+                Duration.ofHours(getConfig().getLong("skulls.cache-ttl-hours", 72)));
         menuManager = new MenuManager(this);
         taskManager = new TaskManager(this);
+        particleRenderer = new ParticleRenderer(this, getConfig().getInt("particles.budget-per-tick", 4000));
+        particleEngine = new ParticleEngine(this, getConfig().getInt("particles.max-per-tick", 8000));
+        hudManager = new HudManager(this);
+        bossBarService = new BossBarService(this);
+        effectDispatcher = new EffectDispatcher(this);
+
+        if (databaseManager != null) {
+            playerDataManager = new PlayerDataManager(this, databaseManager, eventManager);
+        }
 
         // Process all annotations
         commandManager.registerCommands(reflections);
@@ -115,6 +153,16 @@ public final class Bootstrap extends JavaPlugin {
         configManager.loadConfigs(reflections);
         languageManager.loadLanguages(reflections);
         taskManager.scheduleTasks(reflections);
+        particleEngine.registerEffects(reflections);
+
+        // Hot reload configs and language files edited on disk
+        try {
+            fileWatcher = new FileWatcher(this);
+            configManager.watch(fileWatcher);
+            languageManager.watch(fileWatcher);
+        } catch (IOException e) {
+            getLogger().warning("File watching unavailable, configs need manual reloads: " + e.getMessage());
+        }
 
         // Initialize metrics if configured - FIXED: Use correct annotation
         dev.oumaimaa.kawaiilib.annotations.Metrics metricsAnn = mainClass.getAnnotation(dev.oumaimaa.kawaiilib.annotations.Metrics.class);
@@ -140,18 +188,59 @@ public final class Bootstrap extends JavaPlugin {
         getLogger().info("Shutting down KawaiiLib...");
 
         // Shutdown managers in reverse order
+        if (fileWatcher != null) {
+            fileWatcher.close();
+        }
+
         if (taskManager != null) {
             taskManager.shutdown();
         }
 
+        if (particleEngine != null) {
+            particleEngine.shutdown();
+        }
+
+        if (hudManager != null) {
+            hudManager.shutdown();
+        }
+
+        if (bossBarService != null) {
+            bossBarService.shutdown();
+        }
+
+        if (particleRenderer != null) {
+            particleRenderer.shutdown();
+        }
+
+        if (skullService != null) {
+            skullService.shutdown();
+        }
+
+        if (updateChecker != null) {
+            updateChecker.shutdown();
+        }
+
         if (discordManager != null) {
             discordManager.shutdown();
         }
 
+        // Flush player data while the pool is still open
+        if (playerDataManager != null) {
+            playerDataManager.shutdown();
+        }
+
         if (databaseManager != null) {
             databaseManager.close();
         }
 
+        if (configManager != null) {
+            configManager.shutdown();
+        }
+
+        if (keyValueStore != null) {
+            keyValueStore.close();
+        }
+
         getLogger().info("KawaiiLib disabled successfully!");
     }
 
@@ -171,6 +260,10 @@ public final class Bootstrap extends JavaPlugin {
         return menuManager;
     }
 
+    public SkullService getSkullService() {
+        return skullService;
+    }
+
     public ConfigManager getConfigManager() {
         return configManager;
     }
@@ -179,6 +272,10 @@ public final class Bootstrap extends JavaPlugin {
         return databaseManager;
     }
 
+    public KeyValueStore getKeyValueStore() {
+        return keyValueStore;
+    }
+
     public DiscordManager getDiscordManager() {
         return discordManager;
     }
@@ -191,6 +288,30 @@ public final class Bootstrap extends JavaPlugin {
         return taskManager;
     }
 
+    public PlayerDataManager getPlayerDataManager() {
+        return playerDataManager;
+    }
+
+    public ParticleRenderer getParticleRenderer() {
+        return particleRenderer;
+    }
+
+    public ParticleEngine getParticleEngine() {
+        return particleEngine;
+    }
+
+    public HudManager getHudManager() {
+        return hudManager;
+    }
+
+    public BossBarService getBossBarService() {
+        return bossBarService;
+    }
+
+    public EffectDispatcher getEffectDispatcher() {
+        return effectDispatcher;
+    }
+
     public CooldownManager getCooldownManager() {
         return cooldownManager;
     }
@@ -11,4 +11,10 @@ public @interface Button {
     int slot();
 
     String item(); // Serialized item string, e.g., "DIAMOND_SWORD{name='Sword'}"
+
+    long cooldown() default 0; // Milliseconds between clicks of one player, 0 disables throttling
+
+    boolean async() default false; // Run off the main thread, a returned Runnable is run on the main thread afterwards
+
+    String loadingItem() default "GRAY_STAINED_GLASS_PANE{name='<gray>Loading...'}"; // Shown while an async action runs
 }
\ No newline at end of file
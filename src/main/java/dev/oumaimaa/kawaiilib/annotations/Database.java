@@ -8,11 +8,25 @@ import java.lang.annotation.Target;
 @Target(ElementType.TYPE)
 @Retention(RetentionPolicy.RUNTIME)
 public @interface Database {
-    String type() default "SQLITE"; // "SQLITE", "MYSQL", "H2"
+    String type() default "SQLITE"; // "SQLITE", "MYSQL", "H2", "KV"
 
     String url() default "";
 
     String user() default "";
 
     String password() default "";
+
+    int maxPoolSize() default 10;
+
+    int minIdle() default 2;
+
+    long connectionTimeout() default 5000; // Milliseconds
+
+    long maxLifetime() default 1800000; // Milliseconds
+
+    long leakDetectionThreshold() default 60000; // Milliseconds, 0 disables
+
+    long slowQueryThreshold() default 250; // Milliseconds, 0 disables
+
+    String migrations() default "migrations"; // Jar folder with V<version>__<description>.sql scripts
 }
\ No newline at end of file
@@ -15,4 +15,6 @@ public @interface Menu {
     int rows() default 3;
 
     InventoryType type() default InventoryType.CHEST;
+
+    boolean shared() default false; // One inventory for every viewer, content must not depend on the player
 }
\ No newline at end of file
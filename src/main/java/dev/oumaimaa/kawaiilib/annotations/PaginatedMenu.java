@@ -11,4 +11,10 @@ public @interface PaginatedMenu {
     String title();
 
     int rows() default 6;
+
+    String previousItem() default "ARROW{name='<yellow>Previous page'}";
+
+    String nextItem() default "ARROW{name='<yellow>Next page'}";
+
+    String loadingItem() default "GRAY_STAINED_GLASS_PANE{name='<gray>Loading...'}";
 }
\ No newline at end of file
@@ -20,4 +20,14 @@ public @interface Particle {
     double offsetZ() default 0.0;
 
     double extra() default 0.0;
+
+    String id() default ""; // Effect id for ParticleEngine.play, defaults to the method name
+
+    int period() default 1; // Ticks between frames
+
+    int duration() default -1; // Ticks until the effect ends, -1 runs until its anchor is gone
+
+    int priority() default 0; // Higher priorities keep rendering when the per-tick cap is reached
+
+    double spin() default 0.0; // Radians the shape turns around its anchor per frame
 }
\ No newline at end of file
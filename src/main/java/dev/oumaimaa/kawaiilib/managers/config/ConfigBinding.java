@@ -0,0 +1,405 @@
+package dev.oumaimaa.kawaiilib.managers.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.serialization.ConfigurationSerializable;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.VarHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.RecordComponent;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Binding plan of a {@code @Config} class, built once so loads and reloads only convert and assign values.
+ * <p>
+ * Every non-final static field maps to the path made from its name with {@code _} replaced by {@code .}.
+ * Nested objects, records, enums, {@code Map<String, V>} and typed lists are converted according to
+ * the declared generic type. {@link ConfigurationSerializable} types such as {@code ItemStack} or
+ * {@code Location} are taken as Bukkit already deserialized them. A field whose type can't be bound
+ * reports an error on load instead of failing the whole class.
+ */
+final class ConfigBinding {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final String[] paths;
+    private final Converter[] converters;
+    private final VarHandle[] setters;
+
+    private ConfigBinding(List<String> paths, List<Converter> converters, List<VarHandle> setters) {
+        this.paths = paths.toArray(String[]::new);
+        this.converters = converters.toArray(Converter[]::new);
+        this.setters = setters.toArray(VarHandle[]::new);
+    }
+
+    /**
+     * Analyze the static fields of a config class
+     */
+    static @NotNull ConfigBinding compile(@NotNull Class<?> configClass) throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(configClass, LOOKUP);
+        List<String> paths = new ArrayList<>();
+        List<Converter> converters = new ArrayList<>();
+        List<VarHandle> setters = new ArrayList<>();
+        Map<Class<?>, Converter[]> inProgress = new HashMap<>();
+
+        for (Field field : configClass.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()) {
+                continue;
+            }
+
+            paths.add(field.getName().replace("_", "."));
+            converters.add(fieldConverter(field.getGenericType(), inProgress));
+            setters.add(lookup.unreflectVarHandle(field));
+        }
+
+        return new ConfigBinding(paths, converters, setters);
+    }
+
+    /**
+     * Apply a configuration to the bound fields, returning every validation error found
+     */
+    @NotNull List<String> apply(@NotNull ConfigurationSection config) {
+        return apply(config, null);
+    }
+
+    /**
+     * Apply only the fields affected by the changed keys, or every field when the set is null
+     */
+    @NotNull List<String> apply(@NotNull ConfigurationSection config, @Nullable Set<String> changedKeys) {
+        List<String> errors = new ArrayList<>(0);
+
+        for (int i = 0; i < paths.length; i++) {
+            if (changedKeys != null && !isAffected(paths[i], changedKeys)) {
+                continue;
+            }
+
+            Object raw = config.get(paths[i]);
+            if (raw == null) {
+                continue;
+            }
+
+            Object value = converters[i].convert(raw, paths[i], errors);
+            if (value != null) {
+                setters[i].set(value);
+            }
+        }
+
+        return errors;
+    }
+
+    private static boolean isAffected(@NotNull String path, @NotNull Set<String> changedKeys) {
+        for (String key : changedKeys) {
+            // The field itself, a value inside a bound section, or a section the field lives in
+            if (key.equals(path) || key.startsWith(path + ".") || path.startsWith(key + ".")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Converter of a field or component, turning analysis failures into an error reported on load
+     */
+    private static @NotNull Converter fieldConverter(@NotNull Type type, @NotNull Map<Class<?>, Converter[]> inProgress) {
+        try {
+            return converterFor(type, inProgress);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            String message = "cannot bind " + type.getTypeName() + ": " + e;
+            return (raw, path, errors) -> fail(errors, path, message);
+        }
+    }
+
+    private static @NotNull Converter converterFor(@NotNull Type type, @NotNull Map<Class<?>, Converter[]> inProgress)
+            throws ReflectiveOperationException {
+        if (type instanceof WildcardType wildcard) {
+            return converterFor(wildcard.getUpperBounds()[0], inProgress);
+        }
+
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+
+            if (List.class.isAssignableFrom(raw)) {
+                return listConverter(converterFor(arguments[0], inProgress));
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                return mapConverter(converterFor(arguments[1], inProgress));
+            }
+            return converterFor(raw, inProgress);
+        }
+
+        if (!(type instanceof Class<?> clazz)) {
+            return (raw, path, errors) -> raw; // Type variables carry no information to convert with
+        }
+
+        if (clazz == int.class || clazz == Integer.class) {
+            return numberConverter(Number::intValue, Integer::parseInt);
+        }
+        if (clazz == long.class || clazz == Long.class) {
+            return numberConverter(Number::longValue, Long::parseLong);
+        }
+        if (clazz == double.class || clazz == Double.class) {
+            return numberConverter(Number::doubleValue, Double::parseDouble);
+        }
+        if (clazz == float.class || clazz == Float.class) {
+            return numberConverter(Number::floatValue, Float::parseFloat);
+        }
+        if (clazz == boolean.class || clazz == Boolean.class) {
+            return ConfigBinding::toBoolean;
+        }
+        if (clazz == String.class) {
+            return (raw, path, errors) -> raw instanceof ConfigurationSection || raw instanceof List<?>
+                    ? fail(errors, path, "expected a text value")
+                    : String.valueOf(raw);
+        }
+        if (clazz.isEnum()) {
+            return enumConverter(clazz);
+        }
+        if (List.class.isAssignableFrom(clazz)) {
+            return listConverter((raw, path, errors) -> raw);
+        }
+        if (Map.class.isAssignableFrom(clazz)) {
+            return mapConverter((raw, path, errors) -> raw);
+        }
+        if (clazz == Object.class || clazz.getName().startsWith("java.") || clazz.isInterface()
+                || Modifier.isAbstract(clazz.getModifiers())
+                || ConfigurationSerializable.class.isAssignableFrom(clazz)) {
+            return (raw, path, errors) -> clazz.isInstance(raw)
+                    ? raw
+                    : fail(errors, path, "expected " + clazz.getSimpleName());
+        }
+
+        Converter[] pending = inProgress.get(clazz);
+        if (pending != null) {
+            // The type refers to itself, use its converter once the outer analysis has built it
+            return (raw, path, errors) -> pending[0].convert(raw, path, errors);
+        }
+
+        Converter[] self = new Converter[1];
+        inProgress.put(clazz, self);
+        try {
+            self[0] = clazz.isRecord() ? recordConverter(clazz, inProgress) : objectConverter(clazz, inProgress);
+            return self[0];
+        } finally {
+            inProgress.remove(clazz);
+        }
+    }
+
+    private static @NotNull Converter numberConverter(Function<Number, Object> fromNumber,
+                                                      Function<String, Object> parser) {
+        return (raw, path, errors) -> {
+            if (raw instanceof Number number) {
+                return fromNumber.apply(number);
+            }
+            if (raw instanceof String text) {
+                try {
+                    return parser.apply(text.trim());
+                } catch (NumberFormatException e) {
+                    return fail(errors, path, "'" + text + "' is not a number");
+                }
+            }
+            return fail(errors, path, "expected a number");
+        };
+    }
+
+    private static @Nullable Object toBoolean(Object raw, String path, List<String> errors) {
+        if (raw instanceof Boolean) {
+            return raw;
+        }
+        if (raw instanceof String text) {
+            if (text.equalsIgnoreCase("true")) return Boolean.TRUE;
+            if (text.equalsIgnoreCase("false")) return Boolean.FALSE;
+        }
+        return fail(errors, path, "expected true or false");
+    }
+
+    private static @NotNull Converter enumConverter(@NotNull Class<?> enumClass) {
+        Map<String, Object> constants = new HashMap<>();
+        for (Object constant : enumClass.getEnumConstants()) {
+            constants.put(((Enum<?>) constant).name().toUpperCase(Locale.ROOT), constant);
+        }
+
+        return (raw, path, errors) -> {
+            Object constant = constants.get(String.valueOf(raw).trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+            return constant != null
+                    ? constant
+                    : fail(errors, path, "'" + raw + "' is not one of " + constants.keySet());
+        };
+    }
+
+    private static @NotNull Converter listConverter(@NotNull Converter element) {
+        return (raw, path, errors) -> {
+            if (!(raw instanceof List<?> list)) {
+                return fail(errors, path, "expected a list");
+            }
+
+            List<Object> result = new ArrayList<>(list.size());
+            for (int i = 0; i < list.size(); i++) {
+                Object value = element.convert(list.get(i), path + "[" + i + "]", errors);
+                if (value != null) {
+                    result.add(value);
+                }
+            }
+            return result;
+        };
+    }
+
+    private static @NotNull Converter mapConverter(@NotNull Converter value) {
+        return (raw, path, errors) -> {
+            Map<?, ?> entries = asMap(raw);
+            if (entries == null) {
+                return fail(errors, path, "expected a section");
+            }
+
+            Map<String, Object> result = new LinkedHashMap<>(Math.max(16, entries.size() * 2));
+            for (Map.Entry<?, ?> entry : entries.entrySet()) {
+                String key = String.valueOf(entry.getKey());
+                Object converted = value.convert(entry.getValue(), path + "." + key, errors);
+                if (converted != null) {
+                    result.put(key, converted);
+                }
+            }
+            return result;
+        };
+    }
+
+    private static @NotNull Converter recordConverter(@NotNull Class<?> recordClass,
+                                                     @NotNull Map<Class<?>, Converter[]> inProgress)
+            throws ReflectiveOperationException {
+        RecordComponent[] components = recordClass.getRecordComponents();
+        String[] names = new String[components.length];
+        Converter[] converters = new Converter[components.length];
+        Class<?>[] types = new Class<?>[components.length];
+
+        for (int i = 0; i < components.length; i++) {
+            names[i] = components[i].getName();
+            converters[i] = fieldConverter(components[i].getGenericType(), inProgress);
+            types[i] = components[i].getType();
+        }
+
+        MethodHandle constructor = MethodHandles.privateLookupIn(recordClass, LOOKUP)
+                .findConstructor(recordClass, MethodType.methodType(void.class, types))
+                .asSpreader(Object[].class, types.length);
+
+        return (raw, path, errors) -> {
+            if (recordClass.isInstance(raw)) {
+                return raw;
+            }
+
+            Map<?, ?> entries = asMap(raw);
+            if (entries == null) {
+                return fail(errors, path, "expected a section");
+            }
+
+            Object[] arguments = new Object[names.length];
+            int errorCount = errors.size();
+            for (int i = 0; i < names.length; i++) {
+                Object value = entries.get(names[i]);
+                if (value != null) {
+                    arguments[i] = converters[i].convert(value, path + "." + names[i], errors);
+                }
+                if (arguments[i] == null && types[i].isPrimitive()) {
+                    errors.add(path + "." + names[i] + ": missing value");
+                }
+            }
+
+            if (errors.size() > errorCount) {
+                return null;
+            }
+
+            try {
+                return constructor.invoke(arguments);
+            } catch (Throwable e) {
+                return fail(errors, path, "could not create " + recordClass.getSimpleName() + ": " + e.getMessage());
+            }
+        };
+    }
+
+    private static @NotNull Converter objectConverter(@NotNull Class<?> clazz,
+                                                     @NotNull Map<Class<?>, Converter[]> inProgress)
+            throws ReflectiveOperationException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(clazz, LOOKUP);
+        MethodHandle constructor = lookup.findConstructor(clazz, MethodType.methodType(void.class));
+
+        List<String> names = new ArrayList<>();
+        List<Converter> converters = new ArrayList<>();
+        List<VarHandle> setters = new ArrayList<>();
+        for (Field field : clazz.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (Modifier.isStatic(modifiers) || Modifier.isFinal(modifiers) || field.isSynthetic()) {
+                continue;
+            }
+
+            names.add(field.getName());
+            converters.add(fieldConverter(field.getGenericType(), inProgress));
+            setters.add(lookup.unreflectVarHandle(field));
+        }
+
+        return (raw, path, errors) -> {
+            if (clazz.isInstance(raw)) {
+                return raw;
+            }
+
+            Map<?, ?> entries = asMap(raw);
+            if (entries == null) {
+                return fail(errors, path, "expected a section");
+            }
+
+            Object instance;
+            try {
+                instance = constructor.invoke();
+            } catch (Throwable e) {
+                return fail(errors, path, "could not create " + clazz.getSimpleName() + ": " + e.getMessage());
+            }
+
+            for (int i = 0; i < names.size(); i++) {
+                Object value = entries.get(names.get(i));
+                if (value == null) {
+                    continue; // Keep the field initializer as default
+                }
+
+                Object converted = converters.get(i).convert(value, path + "." + names.get(i), errors);
+                if (converted != null) {
+                    setters.get(i).set(instance, converted);
+                }
+            }
+            return instance;
+        };
+    }
+
+    private static @Nullable Map<?, ?> asMap(Object raw) {
+        if (raw instanceof ConfigurationSection section) {
+            return section.getValues(false);
+        }
+        if (raw instanceof Map<?, ?> map) {
+            return map;
+        }
+        return null;
+    }
+
+    private static @Nullable Object fail(@NotNull List<String> errors, @NotNull String path, @NotNull String message) {
+        errors.add(path + ": " + message);
+        return null;
+    }
+
+    @FunctionalInterface
+    private interface Converter {
+        @Nullable Object convert(@NotNull Object raw, @NotNull String path, @NotNull List<String> errors);
+    }
+}
\ No newline at end of file
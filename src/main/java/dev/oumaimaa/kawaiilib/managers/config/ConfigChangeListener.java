@@ -0,0 +1,17 @@
+package dev.oumaimaa.kawaiilib.managers.config;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Notified on the main thread for every key that changed when a file was reloaded
+ */
+@FunctionalInterface
+public interface ConfigChangeListener {
+
+    /**
+     * @param source config file name, or language code for language files
+     * @param key    full path of the changed key
+     */
+    void onChange(@NotNull String source, @NotNull String key, @Nullable Object oldValue, @Nullable Object newValue);
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package dev.oumaimaa.kawaiilib.managers.config;
+
+import org.bukkit.configuration.ConfigurationSection;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Key-level difference between two versions of a configuration tree
+ */
+public final class ConfigDiff {
+
+    private ConfigDiff() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Compare the leaf values of two trees, returning every added, removed or modified key
+     */
+    public static @NotNull Map<String, Change> diff(@NotNull ConfigurationSection oldTree,
+                                                    @NotNull ConfigurationSection newTree) {
+        Map<String, Object> oldValues = leaves(oldTree);
+        Map<String, Object> newValues = leaves(newTree);
+        Map<String, Change> changes = new LinkedHashMap<>();
+
+        newValues.forEach((key, value) -> {
+            Object previous = oldValues.get(key);
+            if (!Objects.equals(previous, value)) {
+                changes.put(key, new Change(previous, value));
+            }
+        });
+
+        oldValues.forEach((key, value) -> {
+            if (!newValues.containsKey(key)) {
+                changes.put(key, new Change(value, null));
+            }
+        });
+
+        return changes;
+    }
+
+    private static @NotNull Map<String, Object> leaves(@NotNull ConfigurationSection tree) {
+        Map<String, Object> values = tree.getValues(true);
+        Map<String, Object> leaves = new HashMap<>(values.size() * 2);
+        values.forEach((key, value) -> {
+            if (!(value instanceof ConfigurationSection)) {
+                leaves.put(key, value);
+            }
+        });
+        return leaves;
+    }
+
+    public record Change(@Nullable Object oldValue, @Nullable Object newValue) {
+    }
+}
\ No newline at end of file
@@ -2,6 +2,8 @@ package dev.oumaimaa.kawaiilib.managers.config;
 
 import dev.oumaimaa.kawaiilib.Bootstrap;
 import dev.oumaimaa.kawaiilib.annotations.Config;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -9,18 +11,30 @@ import org.reflections.Reflections;
 
 import java.io.File;
 import java.io.IOException;
-import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class ConfigManager {
 
     private final Bootstrap plugin;
     private final Map<String, ConfigWrapper> configs = new ConcurrentHashMap<>();
+    private final Map<String, List<ConfigChangeListener>> listeners = new ConcurrentHashMap<>();
+    private final ConfigWriter writer;
+    private final ConfigSnapshotCache snapshots;
 
     public ConfigManager(Bootstrap plugin) {
         this.plugin = plugin;
+        this.writer = new ConfigWriter(plugin);
+        this.snapshots = new ConfigSnapshotCache(plugin);
     }
 
     public void loadConfigs(@NotNull Reflections reflections) {
@@ -35,47 +49,30 @@ public final class ConfigManager {
                 plugin.saveResource(ann.file(), false);
             }
 
-            YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
-            ConfigWrapper wrapper = new ConfigWrapper(clazz, yaml, file, ann);
+            ConfigBinding binding;
+            try {
+                binding = ConfigBinding.compile(clazz);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                plugin.getLogger().severe("Failed to analyze config class: " + clazz.getName());
+                e.printStackTrace();
+                continue;
+            }
+
+            YamlConfiguration yaml = snapshots.load(file);
+            ConfigWrapper wrapper = new ConfigWrapper(binding, yaml, file, ann);
             configs.put(ann.file(), wrapper);
 
-            loadFieldsFromConfig(clazz, yaml);
+            loadFieldsFromConfig(wrapper);
 
             plugin.getLogger().info("Loaded config: " + ann.file());
         }
     }
 
-    private void loadFieldsFromConfig(@NotNull Class<?> clazz, @NotNull YamlConfiguration yaml) {
-        for (Field field : clazz.getDeclaredFields()) {
-            if (!java.lang.reflect.Modifier.isStatic(field.getModifiers())) {
-                continue;
-            }
-
-            field.setAccessible(true);
-            String path = field.getName().replace("_", ".");
-
-            try {
-                Object value = yaml.get(path);
-                if (value != null) {
-                    // Type conversion
-                    if (field.getType() == int.class || field.getType() == Integer.class) {
-                        field.set(null, yaml.getInt(path));
-                    } else if (field.getType() == double.class || field.getType() == Double.class) {
-                        field.set(null, yaml.getDouble(path));
-                    } else if (field.getType() == boolean.class || field.getType() == Boolean.class) {
-                        field.set(null, yaml.getBoolean(path));
-                    } else if (field.getType() == String.class) {
-                        field.set(null, yaml.getString(path));
-                    } else if (field.getType() == java.util.List.class) {
-                        field.set(null, yaml.getList(path));
-                    } else {
-                        field.set(null, value);
-                    }
-                }
-            } catch (IllegalAccessException e) {
-                plugin.getLogger().warning("Failed to set config field: " + field.getName());
-                e.printStackTrace();
-            }
+    private void loadFieldsFromConfig(@NotNull ConfigWrapper wrapper) {
+        List<String> errors = wrapper.binding.apply(wrapper.yaml);
+        if (!errors.isEmpty()) {
+            plugin.getLogger().warning("Invalid values in " + wrapper.annotation.file() + ":\n  - " +
+                    String.join("\n  - ", errors));
         }
     }
 
@@ -84,52 +81,149 @@ public final class ConfigManager {
         return wrapper != null ? wrapper.yaml : null;
     }
 
-    public void saveConfig(String fileName) {
+    /**
+     * Queue a save, requests within the debounce window are written once off the main thread
+     */
+    public @NotNull CompletableFuture<Void> saveConfig(String fileName) {
         ConfigWrapper wrapper = configs.get(fileName);
-        if (wrapper != null) {
-            try {
-                wrapper.yaml.save(wrapper.file);
-            } catch (IOException e) {
-                plugin.getLogger().severe("Failed to save config: " + fileName);
-                e.printStackTrace();
-            }
+        if (wrapper == null) {
+            return CompletableFuture.completedFuture(null);
         }
+
+        // Serialize whatever is current when the window closes, a reload may have replaced the wrapper
+        return writer.save(wrapper.file, () -> {
+            ConfigWrapper current = configs.get(fileName);
+            return (current != null ? current : wrapper).yaml.saveToString();
+        });
     }
 
     public void reloadConfig(String fileName) {
         ConfigWrapper wrapper = configs.get(fileName);
         if (wrapper != null) {
-            YamlConfiguration newYaml = YamlConfiguration.loadConfiguration(wrapper.file);
+            YamlConfiguration newYaml = snapshots.load(wrapper.file);
             // FIXED: Create new wrapper instead of modifying final field
-            ConfigWrapper newWrapper = new ConfigWrapper(wrapper.clazz, newYaml, wrapper.file, wrapper.annotation);
+            ConfigWrapper newWrapper = new ConfigWrapper(wrapper.binding, newYaml, wrapper.file, wrapper.annotation);
             configs.put(fileName, newWrapper);
-            loadFieldsFromConfig(wrapper.clazz, newYaml);
+            loadFieldsFromConfig(newWrapper);
             plugin.getLogger().info("Reloaded config: " + fileName);
         }
     }
 
-    public void saveAll() {
-        configs.forEach((name, wrapper) -> {
-            if (wrapper.annotation.autoSave()) {
+    /**
+     * Snapshot cache used to skip YAML parsing of unchanged files
+     */
+    public @NotNull ConfigSnapshotCache getSnapshotCache() {
+        return snapshots;
+    }
+
+    /**
+     * Listen for keys of a config file that change through hot reload
+     */
+    public void addChangeListener(@NotNull String fileName, @NotNull ConfigChangeListener listener) {
+        listeners.computeIfAbsent(fileName, k -> new CopyOnWriteArrayList<>()).add(listener);
+    }
+
+    /**
+     * Reload config files automatically when they are edited on disk
+     */
+    public void watch(@NotNull FileWatcher watcher) {
+        Set<Path> directories = new HashSet<>();
+        for (ConfigWrapper wrapper : configs.values()) {
+            directories.add(wrapper.file.toPath().toAbsolutePath().normalize().getParent());
+        }
+        directories.forEach(directory -> watcher.watch(directory, this::onFilesChanged));
+    }
+
+    private void onFilesChanged(@NotNull Set<Path> files) {
+        // Parse on the watcher thread, the live config is only read and swapped on the main thread
+        Map<String, YamlConfiguration> loaded = new LinkedHashMap<>();
+
+        configs.forEach((fileName, wrapper) -> {
+            Path path = wrapper.file.toPath().toAbsolutePath().normalize();
+            if (!files.contains(path)) return;
+
+            byte[] content;
+            try {
+                content = Files.readAllBytes(path);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Skipped reload of " + fileName + ": " + e.getMessage());
+                return;
+            }
+
+            // Our own saves trigger the watcher too, they hold nothing the server doesn't already have
+            if (writer.isLastWrite(path, content)) return;
+
+            YamlConfiguration newYaml = new YamlConfiguration();
+            try {
+                newYaml.loadFromString(new String(content, StandardCharsets.UTF_8));
+            } catch (InvalidConfigurationException e) {
+                plugin.getLogger().warning("Skipped reload of " + fileName + ": " + e.getMessage());
+                return;
+            }
+            loaded.put(fileName, newYaml);
+        });
+
+        if (!loaded.isEmpty()) {
+            Bukkit.getScheduler().runTask(plugin, () -> loaded.forEach(this::applyReload));
+        }
+    }
+
+    private void applyReload(@NotNull String fileName, @NotNull YamlConfiguration newYaml) {
+        ConfigWrapper wrapper = configs.get(fileName);
+        if (wrapper == null) return;
+
+        // Diffed here so a plugin setting values on the main thread can't race the comparison
+        Map<String, ConfigDiff.Change> changes = ConfigDiff.diff(wrapper.yaml, newYaml);
+        if (changes.isEmpty()) return;
+
+        writer.forget(wrapper.file.toPath().toAbsolutePath().normalize());
+        ConfigWrapper newWrapper = new ConfigWrapper(wrapper.binding, newYaml, wrapper.file, wrapper.annotation);
+        configs.put(fileName, newWrapper);
+
+        List<String> errors = newWrapper.binding.apply(newYaml, changes.keySet());
+        if (!errors.isEmpty()) {
+            plugin.getLogger().warning("Invalid values in " + fileName + ":\n  - " + String.join("\n  - ", errors));
+        }
+
+        List<ConfigChangeListener> fileListeners = listeners.getOrDefault(fileName, List.of());
+        changes.forEach((key, change) -> {
+            for (ConfigChangeListener listener : fileListeners) {
                 try {
-                    wrapper.yaml.save(wrapper.file);
-                } catch (IOException e) {
-                    plugin.getLogger().severe("Failed to save config: " + name);
+                    listener.onChange(fileName, key, change.oldValue(), change.newValue());
+                } catch (Exception e) {
+                    plugin.getLogger().severe("Error in config change listener for " + key + ": " + e.getMessage());
                     e.printStackTrace();
                 }
             }
         });
+
+        plugin.getLogger().info("Hot reloaded " + changes.size() + " key(s) in config: " + fileName);
+    }
+
+    public void saveAll() {
+        configs.forEach((name, wrapper) -> {
+            if (wrapper.annotation.autoSave()) {
+                saveConfig(name);
+            }
+        });
+    }
+
+    /**
+     * Write pending saves and stop the writer thread
+     */
+    public void shutdown() {
+        writer.shutdown();
     }
 
     // FIXED: Removed 'yaml' from record to make it mutable through wrapper replacement
     private static class ConfigWrapper {
-        final Class<?> clazz;
+        final ConfigBinding binding;
         final YamlConfiguration yaml;
         final File file;
         final Config annotation;
 
-        ConfigWrapper(Class<?> clazz, YamlConfiguration yaml, File file, Config annotation) {
-            this.clazz = clazz;
+        ConfigWrapper(ConfigBinding binding, YamlConfiguration yaml, File file, Config annotation) {
+            this.binding = binding;
             this.yaml = yaml;
             this.file = file;
             this.annotation = annotation;
@@ -0,0 +1,328 @@
+package dev.oumaimaa.kawaiilib.managers.config;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary snapshots of parsed YAML files, so unchanged files skip SnakeYAML on startup.
+ * <p>
+ * A snapshot is keyed by the size, modification time and SHA-256 of the source file, and stores the
+ * value tree together with its comments. Files holding values other than plain scalars, lists and maps
+ * (serialized Bukkit objects for example) are always parsed from YAML.
+ */
+public final class ConfigSnapshotCache {
+
+    private static final int MAGIC = 0x4B57534E; // "KWSN"
+    private static final int FORMAT_VERSION = 1;
+
+    private static final byte TYPE_NULL = 0;
+    private static final byte TYPE_STRING = 1;
+    private static final byte TYPE_INT = 2;
+    private static final byte TYPE_LONG = 3;
+    private static final byte TYPE_DOUBLE = 4;
+    private static final byte TYPE_BOOLEAN = 5;
+    private static final byte TYPE_LIST = 6;
+    private static final byte TYPE_MAP = 7;
+    private static final byte TYPE_SECTION = 8;
+
+    private final Bootstrap plugin;
+    private final Path dataFolder;
+    private final Path cacheFolder;
+
+    public ConfigSnapshotCache(@NotNull Bootstrap plugin) {
+        this.plugin = plugin;
+        this.dataFolder = plugin.getDataFolder().toPath().toAbsolutePath().normalize();
+        this.cacheFolder = dataFolder.resolve(".cache").resolve("config");
+    }
+
+    /**
+     * Load a YAML file from its snapshot when it is unchanged, otherwise parse it and refresh the snapshot.
+     * Like {@link YamlConfiguration#loadConfiguration(File)}, errors are logged and yield an empty configuration.
+     */
+    public @NotNull YamlConfiguration load(@NotNull File file) {
+        Path source = file.toPath().toAbsolutePath().normalize();
+        Path snapshot = snapshotPath(source);
+
+        try {
+            byte[] content = Files.readAllBytes(source);
+            long modified = Files.getLastModifiedTime(source).toMillis();
+            byte[] hash = sha256(content);
+
+            YamlConfiguration cached = readSnapshot(snapshot, content.length, modified, hash);
+            if (cached != null) {
+                return cached;
+            }
+
+            YamlConfiguration yaml = new YamlConfiguration();
+            yaml.loadFromString(new String(content, StandardCharsets.UTF_8));
+            writeSnapshot(snapshot, yaml, content.length, modified, hash);
+            return yaml;
+        } catch (NoSuchFileException e) {
+            return new YamlConfiguration();
+        } catch (IOException | InvalidConfigurationException e) {
+            plugin.getLogger().severe("Cannot load " + file + ": " + e.getMessage());
+            return new YamlConfiguration();
+        }
+    }
+
+    private @NotNull Path snapshotPath(@NotNull Path source) {
+        String name = source.startsWith(dataFolder)
+                ? dataFolder.relativize(source).toString()
+                : source.toString();
+        return cacheFolder.resolve(name.replaceAll("[\\\\/:]", "_") + ".snapshot");
+    }
+
+    private @Nullable YamlConfiguration readSnapshot(@NotNull Path snapshot, long size, long modified, byte @NotNull [] hash) {
+        if (!Files.isRegularFile(snapshot)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION
+                    || buffer.getLong() != size || buffer.getLong() != modified) {
+                return null;
+            }
+
+            byte[] storedHash = new byte[hash.length];
+            buffer.get(storedHash);
+            if (!Arrays.equals(storedHash, hash)) {
+                return null;
+            }
+
+            YamlConfiguration yaml = new YamlConfiguration();
+            yaml.options().setHeader(readStrings(buffer));
+            yaml.options().setFooter(readStrings(buffer));
+            readSection(buffer, yaml);
+            return yaml;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            return null; // Damaged or outdated snapshot, parse the YAML instead
+        }
+    }
+
+    private void writeSnapshot(@NotNull Path snapshot, @NotNull YamlConfiguration yaml,
+                               long size, long modified, byte @NotNull [] hash) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(4096);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(size);
+            out.writeLong(modified);
+            out.write(hash);
+            writeStrings(out, yaml.options().getHeader());
+            writeStrings(out, yaml.options().getFooter());
+            writeSection(out, yaml);
+        } catch (IOException | UnsupportedValueException e) {
+            return; // Not representable, this file is always parsed from YAML
+        }
+
+        try {
+            Files.createDirectories(cacheFolder);
+            Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+            Files.write(temp, bytes.toByteArray());
+            try {
+                Files.move(temp, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            // The cache is only an optimization, the next start parses the YAML again
+            plugin.getLogger().fine("Failed to write config snapshot " + snapshot.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private void writeSection(@NotNull DataOutputStream out, @NotNull ConfigurationSection section) throws IOException {
+        Map<String, Object> values = section.getValues(false);
+        out.writeInt(values.size());
+
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            String key = entry.getKey();
+            writeString(out, key);
+            writeStrings(out, section.getComments(key));
+            writeStrings(out, section.getInlineComments(key));
+
+            if (entry.getValue() instanceof ConfigurationSection child) {
+                out.writeByte(TYPE_SECTION);
+                writeSection(out, child);
+            } else {
+                writeValue(out, entry.getValue());
+            }
+        }
+    }
+
+    private void readSection(@NotNull ByteBuffer buffer, @NotNull ConfigurationSection section) {
+        int count = buffer.getInt();
+
+        for (int i = 0; i < count; i++) {
+            String key = readString(buffer);
+            List<String> comments = readStrings(buffer);
+            List<String> inlineComments = readStrings(buffer);
+
+            byte type = buffer.get();
+            if (type == TYPE_SECTION) {
+                readSection(buffer, section.createSection(key));
+            } else {
+                section.set(key, readValue(buffer, type));
+            }
+
+            if (!comments.isEmpty()) {
+                section.setComments(key, comments);
+            }
+            if (!inlineComments.isEmpty()) {
+                section.setInlineComments(key, inlineComments);
+            }
+        }
+    }
+
+    private void writeValue(@NotNull DataOutputStream out, @Nullable Object value) throws IOException {
+        switch (value) {
+            case null -> out.writeByte(TYPE_NULL);
+            case String text -> {
+                out.writeByte(TYPE_STRING);
+                writeString(out, text);
+            }
+            case Integer number -> {
+                out.writeByte(TYPE_INT);
+                out.writeInt(number);
+            }
+            case Long number -> {
+                out.writeByte(TYPE_LONG);
+                out.writeLong(number);
+            }
+            case Double number -> {
+                out.writeByte(TYPE_DOUBLE);
+                out.writeDouble(number);
+            }
+            case Boolean bool -> {
+                out.writeByte(TYPE_BOOLEAN);
+                out.writeBoolean(bool);
+            }
+            case List<?> list -> {
+                out.writeByte(TYPE_LIST);
+                out.writeInt(list.size());
+                for (Object element : list) {
+                    writeValue(out, element);
+                }
+            }
+            case Map<?, ?> map -> {
+                out.writeByte(TYPE_MAP);
+                out.writeInt(map.size());
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    if (!(entry.getKey() instanceof String key)) {
+                        throw new UnsupportedValueException();
+                    }
+                    writeString(out, key);
+                    writeValue(out, entry.getValue());
+                }
+            }
+            default -> throw new UnsupportedValueException();
+        }
+    }
+
+    private @Nullable Object readValue(@NotNull ByteBuffer buffer, byte type) {
+        return switch (type) {
+            case TYPE_NULL -> null;
+            case TYPE_STRING -> readString(buffer);
+            case TYPE_INT -> buffer.getInt();
+            case TYPE_LONG -> buffer.getLong();
+            case TYPE_DOUBLE -> buffer.getDouble();
+            case TYPE_BOOLEAN -> buffer.get() != 0;
+            case TYPE_LIST -> {
+                int size = buffer.getInt();
+                List<Object> list = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(readValue(buffer, buffer.get()));
+                }
+                yield list;
+            }
+            case TYPE_MAP -> {
+                int size = buffer.getInt();
+                Map<String, Object> map = new LinkedHashMap<>(Math.max(16, size * 2));
+                for (int i = 0; i < size; i++) {
+                    String key = readString(buffer);
+                    map.put(key, readValue(buffer, buffer.get()));
+                }
+                yield map;
+            }
+            default -> throw new IllegalArgumentException("Unknown snapshot value type: " + type);
+        };
+    }
+
+    private static void writeString(@NotNull DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static @Nullable String readString(@NotNull ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeStrings(@NotNull DataOutputStream out, @NotNull List<String> values) throws IOException {
+        out.writeInt(values.size());
+        for (String value : values) {
+            writeString(out, value); // Blank comment lines are stored as null
+        }
+    }
+
+    private static @NotNull List<String> readStrings(@NotNull ByteBuffer buffer) {
+        int size = buffer.getInt();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readString(buffer));
+        }
+        return values;
+    }
+
+    private static byte @NotNull [] sha256(byte @NotNull [] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class UnsupportedValueException extends RuntimeException {
+        UnsupportedValueException() {
+            super(null, null, false, false);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,204 @@
+package dev.oumaimaa.kawaiilib.managers.config;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import org.bukkit.Bukkit;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Debounced write-back of config files.
+ * <p>
+ * Save requests for the same file within the debounce window share one write. The content is
+ * serialized once on the main thread, then written on a background thread to a temp file that is
+ * atomically moved over the original. Writes are skipped when the content hash matches the file on disk.
+ * Once the plugin is disabled or the writer shut down, saves are written right away on the calling thread.
+ */
+final class ConfigWriter {
+
+    private static final long DEBOUNCE_TICKS = 20;
+
+    private final Bootstrap plugin;
+    private final ExecutorService executor;
+    private final Map<Path, PendingSave> pending = new ConcurrentHashMap<>();
+    private final Map<Path, Written> written = new ConcurrentHashMap<>();
+
+    ConfigWriter(Bootstrap plugin) {
+        this.plugin = plugin;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "KawaiiLib-ConfigWriter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Request a save, the serializer runs on the main thread once the window closes
+     */
+    @NotNull CompletableFuture<Void> save(@NotNull File file, @NotNull Supplier<String> serializer) {
+        Path path = file.toPath().toAbsolutePath().normalize();
+        PendingSave created = new PendingSave(serializer);
+        PendingSave existing = pending.putIfAbsent(path, created);
+
+        if (existing != null) {
+            existing.serializer = serializer;
+            return existing.future;
+        }
+
+        if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTaskLater(plugin, () -> flush(path), DEBOUNCE_TICKS);
+        } else {
+            flush(path); // The scheduler refuses tasks of a disabled plugin
+        }
+        return created.future;
+    }
+
+    private void flush(@NotNull Path path) {
+        PendingSave save = pending.remove(path);
+        if (save == null) return;
+
+        String content;
+        try {
+            content = save.serializer.get();
+        } catch (RuntimeException e) {
+            plugin.getLogger().severe("Failed to serialize config: " + path.getFileName());
+            save.future.completeExceptionally(e);
+            return;
+        }
+
+        try {
+            executor.execute(() -> write(path, content, save.future));
+        } catch (RejectedExecutionException e) {
+            write(path, content, save.future); // Saved after shutdown, nothing else will write it
+        }
+    }
+
+    private void write(@NotNull Path path, @NotNull String content, @NotNull CompletableFuture<Void> future) {
+        try {
+            byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+            byte[] hash = hash(bytes);
+
+            if (!Arrays.equals(hash, hashOnDisk(path))) {
+                writeAtomically(path, bytes);
+            }
+
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            written.put(path, new Written(hash, attributes.size(), attributes.lastModifiedTime()));
+            future.complete(null);
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to save config: " + path.getFileName() + " (" + e.getMessage() + ")");
+            future.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Hash of the file as it is now, the last write is trusted only while size and modification time still match
+     */
+    private byte @Nullable [] hashOnDisk(@NotNull Path path) throws IOException {
+        if (!Files.exists(path)) return null;
+
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Written last = written.get(path);
+        if (last != null && last.size == attributes.size() && last.modified.equals(attributes.lastModifiedTime())) {
+            return last.hash;
+        }
+        return hash(Files.readAllBytes(path));
+    }
+
+    private void writeAtomically(@NotNull Path path, byte @NotNull [] bytes) throws IOException {
+        Files.createDirectories(path.getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+
+        try {
+            Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private static byte @NotNull [] hash(byte @NotNull [] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Whether the content is what this writer last wrote to the file, the watcher reports our own saves too
+     */
+    boolean isLastWrite(@NotNull Path path, byte @NotNull [] content) {
+        Written last = written.get(path);
+        return last != null && Arrays.equals(last.hash, hash(content));
+    }
+
+    /**
+     * Drop the last write of a file once it was edited on disk, so editing it back to that content is seen as a change
+     */
+    void forget(@NotNull Path path) {
+        written.remove(path);
+    }
+
+    /**
+     * Write everything still pending and wait for the writer, must run on the main thread
+     */
+    void shutdown() {
+        for (Path path : List.copyOf(pending.keySet())) {
+            flush(path);
+        }
+
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Config writer did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private record Written(byte[] hash, long size, FileTime modified) {
+    }
+
+    private static final class PendingSave {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        volatile Supplier<String> serializer;
+
+        PendingSave(Supplier<String> serializer) {
+            this.serializer = serializer;
+        }
+    }
+}
\ No newline at end of file
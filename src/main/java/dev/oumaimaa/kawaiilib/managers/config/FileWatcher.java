@@ -0,0 +1,115 @@
+package dev.oumaimaa.kawaiilib.managers.config;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Watches directories below the plugin data folder and reports changed files in debounced batches.
+ * <p>
+ * Listeners are called on the watcher thread, so they must hand work for the server back to the main thread.
+ */
+public final class FileWatcher {
+
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final Bootstrap plugin;
+    private final WatchService watchService;
+    private final Map<WatchKey, Path> directories = new ConcurrentHashMap<>();
+    private final Map<Path, List<Consumer<Set<Path>>>> listeners = new ConcurrentHashMap<>();
+    private final Thread thread;
+
+    public FileWatcher(Bootstrap plugin) throws IOException {
+        this.plugin = plugin;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.thread = new Thread(this::run, "KawaiiLib-FileWatcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Report changes of files directly inside a directory
+     */
+    public void watch(@NotNull Path directory, @NotNull Consumer<Set<Path>> listener) {
+        Path normalized = directory.toAbsolutePath().normalize();
+        listeners.computeIfAbsent(normalized, dir -> {
+            try {
+                WatchKey key = dir.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY);
+                directories.put(key, dir);
+            } catch (IOException e) {
+                plugin.getLogger().warning("Failed to watch " + dir + ": " + e.getMessage());
+            }
+            return new CopyOnWriteArrayList<>();
+        }).add(listener);
+    }
+
+    private void run() {
+        Map<Path, Set<Path>> pending = new HashMap<>();
+
+        try {
+            while (true) {
+                // Block until something changes, then keep collecting until the editor is done writing
+                WatchKey key = pending.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS);
+
+                if (key == null) {
+                    dispatch(pending);
+                    pending.clear();
+                    continue;
+                }
+
+                Path directory = directories.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (directory != null && event.context() instanceof Path name) {
+                        pending.computeIfAbsent(directory, d -> new HashSet<>()).add(directory.resolve(name));
+                    }
+                }
+                key.reset();
+            }
+        } catch (InterruptedException | ClosedWatchServiceException ignored) {
+            // Shutting down
+        }
+    }
+
+    private void dispatch(@NotNull Map<Path, Set<Path>> pending) {
+        pending.forEach((directory, files) -> {
+            Set<Path> changed = Set.copyOf(files);
+            for (Consumer<Set<Path>> listener : listeners.getOrDefault(directory, List.of())) {
+                try {
+                    listener.accept(changed);
+                } catch (Exception e) {
+                    plugin.getLogger().severe("Error handling file change in " + directory + ": " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException ignored) {
+        }
+        thread.interrupt();
+    }
+}
\ No newline at end of file
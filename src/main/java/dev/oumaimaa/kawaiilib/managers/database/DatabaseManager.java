@@ -4,6 +4,9 @@ import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import dev.oumaimaa.kawaiilib.Bootstrap;
 import dev.oumaimaa.kawaiilib.annotations.Database;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.MemoryConfiguration;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 
@@ -12,23 +15,47 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.function.Function;
 
 public final class DatabaseManager {
 
+    private static final int TRANSACTION_MAX_ATTEMPTS = 5;
+    private static final long TRANSACTION_BACKOFF_MILLIS = 25;
+
     private final Bootstrap plugin;
+    private final String type;
     private final HikariDataSource dataSource;
     private final ExecutorService executor;
+    private final DatabaseMetrics metrics;
 
     public DatabaseManager(Bootstrap plugin, @NotNull Database config) {
         this.plugin = plugin;
         this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.type = config.type().toUpperCase();
 
         HikariConfig hikariConfig = new HikariConfig();
 
-        switch (config.type().toUpperCase()) {
+        // Common HikariCP settings, "database.pool" in the config overrides the annotation
+        FileConfiguration pluginConfig = plugin.getConfig();
+        ConfigurationSection pool = pluginConfig.getConfigurationSection("database.pool");
+        if (pool == null) {
+            // Only read defaults, the user's config is left untouched
+            pool = new MemoryConfiguration();
+        }
+
+        hikariConfig.setPoolName("KawaiiLib-Pool");
+        hikariConfig.setMaximumPoolSize(pool.getInt("max-size", config.maxPoolSize()));
+        hikariConfig.setMinimumIdle(pool.getInt("min-idle", config.minIdle()));
+        hikariConfig.setMaxLifetime(pool.getLong("max-lifetime", config.maxLifetime()));
+        hikariConfig.setConnectionTimeout(pool.getLong("connection-timeout", config.connectionTimeout()));
+        hikariConfig.setLeakDetectionThreshold(pool.getLong("leak-detection-threshold", config.leakDetectionThreshold()));
+        long slowQueryThreshold = pool.getLong("slow-query-threshold", config.slowQueryThreshold());
+
+        switch (type) {
             case "MYSQL" -> {
                 hikariConfig.setJdbcUrl(config.url());
                 hikariConfig.setUsername(config.user());
@@ -51,6 +78,7 @@ public final class DatabaseManager {
                 hikariConfig.setJdbcUrl("jdbc:sqlite:" + plugin.getDataFolder() + "/data.db");
                 hikariConfig.setDriverClassName("org.sqlite.JDBC");
                 hikariConfig.setMaximumPoolSize(1); // SQLite only supports one writer
+                hikariConfig.setMinimumIdle(1);
             }
             case "H2" -> {
                 hikariConfig.setJdbcUrl("jdbc:h2:" + plugin.getDataFolder() + "/data");
@@ -59,17 +87,11 @@ public final class DatabaseManager {
             default -> throw new IllegalArgumentException("Unsupported database type: " + config.type());
         }
 
-        // Common HikariCP settings
-        hikariConfig.setPoolName("KawaiiLib-Pool");
-        hikariConfig.setMaximumPoolSize(10);
-        hikariConfig.setMinimumIdle(2);
-        hikariConfig.setMaxLifetime(1800000); // 30 minutes
-        hikariConfig.setConnectionTimeout(5000);
-        hikariConfig.setLeakDetectionThreshold(60000);
-
         this.dataSource = new HikariDataSource(hikariConfig);
+        this.metrics = new DatabaseMetrics(dataSource, plugin.getLogger(), slowQueryThreshold);
 
-        plugin.getLogger().info("Database initialized: " + config.type());
+        plugin.getLogger().info("Database initialized: " + config.type() +
+                " (pool size " + hikariConfig.getMaximumPoolSize() + ")");
     }
 
     /**
@@ -79,19 +101,31 @@ public final class DatabaseManager {
         return dataSource.getConnection();
     }
 
+    /**
+     * Get query and connection pool metrics
+     */
+    public @NotNull DatabaseMetrics getMetrics() {
+        return metrics;
+    }
+
     /**
      * Execute an async query
      */
     @Contract("_, _ -> new")
     public @NotNull CompletableFuture<Void> executeAsync(@NotNull String sql, Object... params) {
         return CompletableFuture.runAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+            long start = System.nanoTime();
+            try (Connection conn = getConnection()) {
+                long acquired = System.nanoTime();
 
-                setParameters(stmt, params);
-                stmt.executeUpdate();
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    setParameters(stmt, params);
+                    int rows = stmt.executeUpdate();
+                    metrics.record(sql, acquired - start, System.nanoTime() - acquired, rows);
+                }
 
             } catch (SQLException e) {
+                metrics.recordError(sql);
                 plugin.getLogger().severe("Error executing query: " + e.getMessage());
                 e.printStackTrace();
             }
@@ -106,16 +140,23 @@ public final class DatabaseManager {
                                                         @NotNull Function<ResultSet, T> processor,
                                                         Object... params) {
         return CompletableFuture.supplyAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+            long start = System.nanoTime();
+            try (Connection conn = getConnection()) {
+                long acquired = System.nanoTime();
 
-                setParameters(stmt, params);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    setParameters(stmt, params);
 
-                try (ResultSet rs = stmt.executeQuery()) {
-                    return processor.apply(rs);
+                    try (ResultSet rs = stmt.executeQuery()) {
+                        CountingResultSet counted = new CountingResultSet(rs);
+                        T result = processor.apply(counted);
+                        metrics.record(sql, acquired - start, System.nanoTime() - acquired, counted.rows());
+                        return result;
+                    }
                 }
 
             } catch (SQLException e) {
+                metrics.recordError(sql);
                 plugin.getLogger().severe("Error executing query: " + e.getMessage());
                 e.printStackTrace();
                 return null;
@@ -130,22 +171,32 @@ public final class DatabaseManager {
     public @NotNull CompletableFuture<int[]> executeBatchAsync(@NotNull String sql,
                                                                @NotNull Iterable<Object[]> paramsList) {
         return CompletableFuture.supplyAsync(() -> {
-            try (Connection conn = getConnection();
-                 PreparedStatement stmt = conn.prepareStatement(sql)) {
+            long start = System.nanoTime();
+            try (Connection conn = getConnection()) {
+                long acquired = System.nanoTime();
 
-                conn.setAutoCommit(false);
+                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
+                    conn.setAutoCommit(false);
 
-                for (Object[] params : paramsList) {
-                    setParameters(stmt, params);
-                    stmt.addBatch();
-                }
+                    for (Object[] params : paramsList) {
+                        setParameters(stmt, params);
+                        stmt.addBatch();
+                    }
 
-                int[] results = stmt.executeBatch();
-                conn.commit();
+                    int[] results = stmt.executeBatch();
+                    conn.commit();
 
-                return results;
+                    long rows = 0;
+                    for (int count : results) {
+                        rows += Math.max(0, count);
+                    }
+                    metrics.record(sql, acquired - start, System.nanoTime() - acquired, rows);
+
+                    return results;
+                }
 
             } catch (SQLException e) {
+                metrics.recordError(sql);
                 plugin.getLogger().severe("Error executing batch: " + e.getMessage());
                 e.printStackTrace();
                 return new int[0];
@@ -153,6 +204,103 @@ public final class DatabaseManager {
         }, executor);
     }
 
+    /**
+     * Run several statements as one transaction on a single pooled connection.
+     * Deadlocks and busy databases roll back and retry the whole unit of work with
+     * backoff, so the work must not have side effects outside the transaction.
+     */
+    @Contract("_ -> new")
+    public <T> @NotNull CompletableFuture<T> transactionAsync(@NotNull Transaction.Work<T> work) {
+        return CompletableFuture.supplyAsync(() -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return runTransaction(work);
+                } catch (SQLException e) {
+                    if (attempt < TRANSACTION_MAX_ATTEMPTS && isRetryable(e)) {
+                        backoff(attempt);
+                        continue;
+                    }
+
+                    plugin.getLogger().severe("Error executing transaction: " + e.getMessage());
+                    throw new CompletionException(e);
+                }
+            }
+        }, executor);
+    }
+
+    private <T> T runTransaction(@NotNull Transaction.Work<T> work) throws SQLException {
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            Transaction tx = new Transaction(conn, metrics);
+            Exception failure = null;
+
+            try {
+                T result = work.execute(tx);
+                tx.flush();
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                failure = e;
+                tx.discardQueued();
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackError) {
+                    e.addSuppressed(rollbackError);
+                }
+                throw e;
+            } finally {
+                try {
+                    conn.setAutoCommit(true);
+                } catch (SQLException resetError) {
+                    // Never replace the failure that ended the transaction, the pool resets the connection anyway
+                    if (failure != null) {
+                        failure.addSuppressed(resetError);
+                    } else {
+                        plugin.getLogger().warning("Failed to reset auto-commit after a transaction: " + resetError.getMessage());
+                    }
+                }
+            }
+        }
+    }
+
+    private boolean isRetryable(@NotNull SQLException e) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            String state = current.getSQLState();
+            if ("40001".equals(state) || "40P01".equals(state)) {
+                return true; // Serialization failure or deadlock
+            }
+
+            int code = current.getErrorCode();
+            switch (type) {
+                case "MYSQL" -> {
+                    if (code == 1213 || code == 1205) return true; // Deadlock, lock wait timeout
+                }
+                case "SQLITE" -> {
+                    // Extended result codes keep the primary code in the low byte
+                    int primary = code & 0xFF;
+                    if (primary == 5 || primary == 6) return true; // SQLITE_BUSY, SQLITE_LOCKED
+                }
+                case "H2" -> {
+                    if (code == 50200) return true; // Lock timeout
+                }
+                default -> {
+                }
+            }
+        }
+        return false;
+    }
+
+    private void backoff(int attempt) {
+        long delay = TRANSACTION_BACKOFF_MILLIS << (attempt - 1);
+        delay += ThreadLocalRandom.current().nextLong(delay + 1); // Jitter so retries don't collide again
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CompletionException(e);
+        }
+    }
+
     /**
      * Create a table if it doesn't exist
      */
@@ -177,7 +325,7 @@ public final class DatabaseManager {
         }, executor);
     }
 
-    private void setParameters(@NotNull PreparedStatement stmt, Object @NotNull ... params) throws SQLException {
+    static void setParameters(@NotNull PreparedStatement stmt, Object @NotNull ... params) throws SQLException {
         for (int i = 0; i < params.length; i++) {
             stmt.setObject(i + 1, params[i]);
         }
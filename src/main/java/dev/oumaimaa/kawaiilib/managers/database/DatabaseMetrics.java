@@ -0,0 +1,204 @@
+package dev.oumaimaa.kawaiilib.managers.database;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement query metrics and connection pool gauges of a {@link DatabaseManager}
+ */
+public final class DatabaseMetrics {
+
+    /**
+     * Upper bounds of the latency histogram buckets in microseconds, the last bucket is unbounded
+     */
+    private static final long[] LATENCY_BUCKETS_MICROS = {
+            100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 1_000_000
+    };
+
+    private static final int MAX_CACHED_SQL = 1024;
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final HikariDataSource dataSource;
+    private final Logger logger;
+    private final long slowQueryThresholdNanos;
+    private final Map<String, StatementStats> statements = new ConcurrentHashMap<>();
+    private final Map<String, StatementStats> statsBySql = new ConcurrentHashMap<>();
+
+    DatabaseMetrics(HikariDataSource dataSource, Logger logger, long slowQueryThresholdMillis) {
+        this.dataSource = dataSource;
+        this.logger = logger;
+        this.slowQueryThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryThresholdMillis);
+    }
+
+    /**
+     * Normalize a statement so calls that only differ in literals share their metrics
+     */
+    public static @NotNull String fingerprint(@NotNull String sql) {
+        String normalized = STRING_LITERAL.matcher(sql).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        return WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+    }
+
+    public static long @NotNull [] getLatencyBucketsMicros() {
+        return LATENCY_BUCKETS_MICROS.clone();
+    }
+
+    void record(@NotNull String sql, long waitNanos, long executionNanos, long rows) {
+        StatementStats stats = statsFor(sql);
+        stats.record(waitNanos, executionNanos, rows);
+
+        if (slowQueryThresholdNanos > 0 && executionNanos >= slowQueryThresholdNanos) {
+            logger.warning("Slow query (" + TimeUnit.NANOSECONDS.toMillis(executionNanos) + " ms): " + stats.fingerprint);
+        }
+    }
+
+    void recordError(@NotNull String sql) {
+        statsFor(sql).errors.increment();
+    }
+
+    private StatementStats statsFor(String sql) {
+        StatementStats stats = statsBySql.get(sql);
+        if (stats != null) {
+            return stats;
+        }
+
+        stats = statements.computeIfAbsent(fingerprint(sql), StatementStats::new);
+        // Statements built with inlined literals would otherwise grow the cache forever
+        if (statsBySql.size() < MAX_CACHED_SQL) {
+            statsBySql.put(sql, stats);
+        }
+        return stats;
+    }
+
+    @Contract(" -> new")
+    public @NotNull PoolStats getPoolStats() {
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+        if (pool == null) {
+            return new PoolStats(0, 0, 0, 0, dataSource.getMaximumPoolSize());
+        }
+
+        return new PoolStats(
+                pool.getActiveConnections(),
+                pool.getIdleConnections(),
+                pool.getThreadsAwaitingConnection(),
+                pool.getTotalConnections(),
+                dataSource.getMaximumPoolSize()
+        );
+    }
+
+    public @NotNull Collection<StatementStats> getStatements() {
+        return List.copyOf(statements.values());
+    }
+
+    /**
+     * Statements sorted by total execution time, most expensive first
+     */
+    public @NotNull List<StatementStats> getTopStatements(int limit) {
+        List<StatementStats> sorted = new ArrayList<>(statements.values());
+        sorted.sort((a, b) -> Long.compare(b.getTotalExecutionNanos(), a.getTotalExecutionNanos()));
+        return sorted.subList(0, Math.min(limit, sorted.size()));
+    }
+
+    public void reset() {
+        statements.clear();
+        statsBySql.clear();
+    }
+
+    public record PoolStats(int active, int idle, int pending, int total, int max) {
+    }
+
+    public static final class StatementStats {
+        private final String fingerprint;
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder rows = new LongAdder();
+        private final LongAdder waitNanos = new LongAdder();
+        private final LongAdder executionNanos = new LongAdder();
+        private final LongAccumulator maxExecutionNanos = new LongAccumulator(Math::max, 0);
+        private final LongAdder[] buckets = new LongAdder[LATENCY_BUCKETS_MICROS.length + 1];
+
+        private StatementStats(String fingerprint) {
+            this.fingerprint = fingerprint;
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        private void record(long wait, long execution, long rowCount) {
+            calls.increment();
+            rows.add(rowCount);
+            waitNanos.add(wait);
+            executionNanos.add(execution);
+            maxExecutionNanos.accumulate(execution);
+            buckets[bucketOf(execution / 1_000)].increment();
+        }
+
+        private static int bucketOf(long micros) {
+            for (int i = 0; i < LATENCY_BUCKETS_MICROS.length; i++) {
+                if (micros <= LATENCY_BUCKETS_MICROS[i]) {
+                    return i;
+                }
+            }
+            return LATENCY_BUCKETS_MICROS.length;
+        }
+
+        public @NotNull String getFingerprint() {
+            return fingerprint;
+        }
+
+        public long getCalls() {
+            return calls.sum();
+        }
+
+        public long getErrors() {
+            return errors.sum();
+        }
+
+        public long getRows() {
+            return rows.sum();
+        }
+
+        public long getTotalWaitNanos() {
+            return waitNanos.sum();
+        }
+
+        public long getTotalExecutionNanos() {
+            return executionNanos.sum();
+        }
+
+        public long getMaxExecutionNanos() {
+            return maxExecutionNanos.get();
+        }
+
+        public double getAverageExecutionMillis() {
+            long count = calls.sum();
+            return count == 0 ? 0 : executionNanos.sum() / (count * 1_000_000.0);
+        }
+
+        /**
+         * Call counts per latency bucket, aligned with {@link #getLatencyBucketsMicros()} plus one overflow bucket
+         */
+        public long @NotNull [] getLatencyHistogram() {
+            long[] counts = new long[buckets.length];
+            for (int i = 0; i < buckets.length; i++) {
+                counts[i] = buckets[i].sum();
+            }
+            return counts;
+        }
+    }
+}
\ No newline at end of file
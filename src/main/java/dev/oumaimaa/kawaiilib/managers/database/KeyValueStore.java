@@ -0,0 +1,413 @@
+package dev.oumaimaa.kawaiilib.managers.database;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Embedded log-structured key-value store, used for {@code @Database(type = "KV")}.
+ * <p>
+ * Every write is appended to a memory-mapped log file and indexed in memory by key, so reads are a
+ * hash lookup plus a copy out of the mapping. Records carry a checksum and recovery replays the log
+ * up to the first damaged record. Compaction rewrites the live records into a new log generation
+ * once most of the file is overwritten data.
+ */
+public final class KeyValueStore {
+
+    private static final int HEADER_SIZE = 12; // crc, key length, value length
+    private static final int TOMBSTONE = -1;
+    private static final int INITIAL_CAPACITY = 1 << 20;
+    private static final long COMPACTION_MIN_GARBAGE = 4L << 20;
+    private static final Pattern LOG_NAME = Pattern.compile("data-(\\d+)\\.kv");
+
+    private final Bootstrap plugin;
+    private final Path directory;
+    private final ScheduledExecutorService writer;
+    private volatile Segment segment;
+    private volatile boolean dirty;
+
+    public KeyValueStore(Bootstrap plugin, @NotNull Path directory) {
+        this.plugin = plugin;
+        this.directory = directory;
+        this.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "KawaiiLib-KV-Writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Files.createDirectories(directory);
+            this.segment = recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open key-value store", e);
+        }
+
+        writer.scheduleWithFixedDelay(this::sync, 1, 1, TimeUnit.SECONDS);
+        writer.scheduleWithFixedDelay(this::compactIfNeeded, 5, 5, TimeUnit.MINUTES);
+
+        plugin.getLogger().info("Key-value store initialized: " + segment.index.size() + " keys");
+    }
+
+    /**
+     * Read a value, served from memory without touching the writer thread
+     */
+    public byte @Nullable [] get(@NotNull String key) {
+        Segment current = segment;
+        Long offset = current.index.get(key);
+        return offset != null ? current.readValue(offset) : null;
+    }
+
+    public @Nullable String getString(@NotNull String key) {
+        byte[] value = get(key);
+        return value != null ? new String(value, StandardCharsets.UTF_8) : null;
+    }
+
+    public boolean containsKey(@NotNull String key) {
+        return segment.index.containsKey(key);
+    }
+
+    public @NotNull Set<String> keys() {
+        return Set.copyOf(segment.index.keySet());
+    }
+
+    public int size() {
+        return segment.index.size();
+    }
+
+    @Contract("_ -> new")
+    public @NotNull CompletableFuture<byte[]> getAsync(@NotNull String key) {
+        return CompletableFuture.completedFuture(get(key));
+    }
+
+    @Contract("_ -> new")
+    public @NotNull CompletableFuture<String> getStringAsync(@NotNull String key) {
+        return CompletableFuture.completedFuture(getString(key));
+    }
+
+    /**
+     * Append a value to the log, the key must not be empty
+     */
+    @Contract("_, _ -> new")
+    public @NotNull CompletableFuture<Void> putAsync(@NotNull String key, byte @NotNull [] value) {
+        requireKey(key);
+        return CompletableFuture.runAsync(() -> append(key, value), writer);
+    }
+
+    @Contract("_, _ -> new")
+    public @NotNull CompletableFuture<Void> putStringAsync(@NotNull String key, @NotNull String value) {
+        return putAsync(key, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Append several values in one writer task
+     */
+    @Contract("_ -> new")
+    public @NotNull CompletableFuture<Void> putAllAsync(@NotNull Map<String, byte[]> values) {
+        values.keySet().forEach(KeyValueStore::requireKey);
+        Map<String, byte[]> copy = Map.copyOf(values);
+        return CompletableFuture.runAsync(() -> copy.forEach(this::append), writer);
+    }
+
+    @Contract("_ -> new")
+    public @NotNull CompletableFuture<Void> removeAsync(@NotNull String key) {
+        requireKey(key);
+        return CompletableFuture.runAsync(() -> append(key, null), writer);
+    }
+
+    /**
+     * Rewrite the log with only live records
+     */
+    @Contract(" -> new")
+    public @NotNull CompletableFuture<Void> compactAsync() {
+        return CompletableFuture.runAsync(this::compact, writer);
+    }
+
+    private void append(String key, byte[] value) {
+        Segment current = segment;
+        Long previous = current.index.get(key);
+        if (value == null && previous == null) {
+            return;
+        }
+
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        try {
+            long offset = current.append(keyBytes, value);
+            if (previous != null) {
+                current.garbage += current.recordSize(previous);
+            }
+
+            if (value == null) {
+                current.index.remove(key);
+                current.garbage += HEADER_SIZE + keyBytes.length;
+            } else {
+                current.index.put(key, offset);
+            }
+            dirty = true;
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to write key-value record: " + e.getMessage());
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void sync() {
+        if (!dirty) return;
+        dirty = false;
+        segment.buffer.force();
+    }
+
+    private void compactIfNeeded() {
+        Segment current = segment;
+        if (current.garbage >= COMPACTION_MIN_GARBAGE && current.garbage * 2 >= current.end) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        Segment old = segment;
+        long generation = old.generation + 1;
+        Path temp = directory.resolve("data-" + generation + ".kv.tmp");
+        Path target = directory.resolve("data-" + generation + ".kv");
+
+        try {
+            Segment compacted = Segment.create(temp, generation, Math.max(INITIAL_CAPACITY, old.end - old.garbage));
+            for (Map.Entry<String, Long> entry : old.index.entrySet()) {
+                long offset = compacted.append(entry.getKey().getBytes(StandardCharsets.UTF_8), old.readValue(entry.getValue()));
+                compacted.index.put(entry.getKey(), offset);
+            }
+            compacted.buffer.force();
+            compacted.channel.close();
+
+            // The temp file is not mapped anymore, so the rename also works on Windows
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            segment = Segment.open(target, generation);
+            old.channel.close();
+
+            // Mapped files can't be deleted on every platform, leftovers are removed on the next start
+            Files.deleteIfExists(old.path);
+
+            plugin.getLogger().info("Compacted key-value store: " + old.end + " -> " + segment.end + " bytes");
+        } catch (IOException e) {
+            plugin.getLogger().warning("Failed to compact key-value store: " + e.getMessage());
+        }
+    }
+
+    private @NotNull Segment recover() throws IOException {
+        long latest = -1;
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                Matcher matcher = LOG_NAME.matcher(name);
+                if (matcher.matches()) {
+                    latest = Math.max(latest, Long.parseLong(matcher.group(1)));
+                } else if (name.endsWith(".kv.tmp")) {
+                    Files.delete(file); // Interrupted compaction
+                }
+            }
+        }
+
+        if (latest < 0) {
+            return Segment.create(directory.resolve("data-0.kv"), 0, INITIAL_CAPACITY);
+        }
+
+        // Older generations are leftovers of a compaction that could not delete them
+        for (long generation = 0; generation < latest; generation++) {
+            Files.deleteIfExists(directory.resolve("data-" + generation + ".kv"));
+        }
+
+        Segment recovered = Segment.open(directory.resolve("data-" + latest + ".kv"), latest);
+        if (recovered.damaged) {
+            plugin.getLogger().warning("Key-value store log was damaged, recovered " +
+                    recovered.index.size() + " keys up to byte " + recovered.end);
+        }
+        return recovered;
+    }
+
+    public void close() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("Key-value store writer did not finish in time");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        try {
+            segment.buffer.force();
+            segment.channel.close();
+            plugin.getLogger().info("Key-value store closed");
+        } catch (IOException e) {
+            plugin.getLogger().severe("Failed to close key-value store: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Replay reads a zero key length as the end of the log, so an empty key would hide every later record
+     */
+    private static void requireKey(@NotNull String key) {
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("Key-value store keys must not be empty");
+        }
+    }
+
+    /**
+     * One generation of the log file with its in-memory index
+     */
+    private static final class Segment {
+        final Path path;
+        final long generation;
+        final FileChannel channel;
+        final Map<String, Long> index = new ConcurrentHashMap<>();
+        volatile MappedByteBuffer buffer;
+        int end;
+        long garbage;
+        boolean damaged;
+
+        private Segment(Path path, long generation, FileChannel channel, long capacity) throws IOException {
+            this.path = path;
+            this.generation = generation;
+            this.channel = channel;
+            this.buffer = map(capacity);
+        }
+
+        static Segment create(Path path, long generation, long capacity) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            return new Segment(path, generation, channel, capacity);
+        }
+
+        static Segment open(Path path, long generation) throws IOException {
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            Segment segment = new Segment(path, generation, channel, Math.max(INITIAL_CAPACITY, channel.size()));
+            segment.replay();
+            return segment;
+        }
+
+        private MappedByteBuffer map(long capacity) throws IOException {
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IOException("Key-value store log exceeds 2 GB");
+            }
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        }
+
+        /**
+         * Rebuild the index from the log, stopping at the first incomplete or corrupt record
+         */
+        private void replay() {
+            MappedByteBuffer buf = buffer;
+            int position = 0;
+            int capacity = buf.capacity();
+
+            while (position + HEADER_SIZE <= capacity) {
+                int keyLength = buf.getInt(position + 4);
+                if (keyLength <= 0) {
+                    break; // Unused preallocated space
+                }
+
+                int valueLength = buf.getInt(position + 8);
+                long size = (long) HEADER_SIZE + keyLength + Math.max(0, valueLength);
+                if (valueLength < TOMBSTONE || position + size > capacity
+                        || buf.getInt(position) != checksum(buf, position, (int) size)) {
+                    damaged = true;
+                    break;
+                }
+
+                byte[] keyBytes = new byte[keyLength];
+                buf.get(position + HEADER_SIZE, keyBytes);
+                String key = new String(keyBytes, StandardCharsets.UTF_8);
+
+                Long previous = index.get(key);
+                if (previous != null) {
+                    garbage += recordSize(previous);
+                }
+                if (valueLength == TOMBSTONE) {
+                    index.remove(key);
+                    garbage += size;
+                } else {
+                    index.put(key, (long) position);
+                }
+                position += (int) size;
+            }
+
+            end = position;
+            if (damaged) {
+                // Clear the torn tail so new records never line up with stale bytes
+                for (int i = end; i < capacity; i++) {
+                    buf.put(i, (byte) 0);
+                }
+                buf.force();
+            }
+        }
+
+        long append(byte[] key, byte[] value) throws IOException {
+            int valueLength = value != null ? value.length : TOMBSTONE;
+            int size = HEADER_SIZE + key.length + Math.max(0, valueLength);
+
+            MappedByteBuffer buf = buffer;
+            if ((long) end + size > buf.capacity()) {
+                long capacity = buf.capacity();
+                while (capacity < (long) end + size) {
+                    capacity *= 2;
+                }
+                buf = map(capacity);
+                buffer = buf;
+            }
+
+            int offset = end;
+            buf.putInt(offset + 4, key.length);
+            buf.putInt(offset + 8, valueLength);
+            buf.put(offset + HEADER_SIZE, key);
+            if (value != null) {
+                buf.put(offset + HEADER_SIZE + key.length, value);
+            }
+            // Checksum last, a torn record never validates
+            buf.putInt(offset, checksum(buf, offset, size));
+
+            end += size;
+            return offset;
+        }
+
+        byte[] readValue(long offset) {
+            MappedByteBuffer buf = buffer;
+            int position = (int) offset;
+            int keyLength = buf.getInt(position + 4);
+            byte[] value = new byte[buf.getInt(position + 8)];
+            buf.get(position + HEADER_SIZE + keyLength, value);
+            return value;
+        }
+
+        long recordSize(long offset) {
+            MappedByteBuffer buf = buffer;
+            int position = (int) offset;
+            return HEADER_SIZE + buf.getInt(position + 4) + Math.max(0, buf.getInt(position + 8));
+        }
+
+        private static int checksum(MappedByteBuffer buf, int offset, int size) {
+            CRC32C crc = new CRC32C();
+            crc.update(buf.slice(offset + 4, size - 4));
+            return (int) crc.getValue();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,282 @@
+package dev.oumaimaa.kawaiilib.managers.database;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Applies versioned SQL scripts shipped in the plugin jar and records them in a history table.
+ * <p>
+ * Scripts are named {@code V<version>__<description>.sql}. Each script runs in its own transaction.
+ * A script starting with the {@code -- kawaii:chunked} directive is a backfill: every statement in it
+ * is repeated in a separate short transaction until it affects no more rows, so the statement has to
+ * limit itself to a chunk and skip rows it already processed.
+ */
+public final class SchemaMigrator {
+
+    private static final String HISTORY_TABLE = "kawaii_schema_history";
+    private static final String CHUNKED_DIRECTIVE = "-- kawaii:chunked";
+    private static final Pattern SCRIPT_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+
+    private final Bootstrap plugin;
+    private final DatabaseManager database;
+    private final String folder;
+
+    public SchemaMigrator(Bootstrap plugin, DatabaseManager database, @NotNull String folder) {
+        this.plugin = plugin;
+        this.database = database;
+        this.folder = folder.endsWith("/") ? folder.substring(0, folder.length() - 1) : folder;
+    }
+
+    /**
+     * Apply all pending migrations, blocking until done.
+     * Fails when an applied script was changed after it ran.
+     */
+    public void migrate() {
+        List<MigrationScript> scripts;
+        try {
+            scripts = loadScripts();
+        } catch (IOException | URISyntaxException e) {
+            throw new IllegalStateException("Failed to read migration scripts", e);
+        }
+
+        if (scripts.isEmpty()) {
+            return;
+        }
+
+        try {
+            database.transactionAsync(tx -> tx.execute("CREATE TABLE IF NOT EXISTS " + HISTORY_TABLE + " (" +
+                    "version BIGINT PRIMARY KEY, " +
+                    "description VARCHAR(200) NOT NULL, " +
+                    "checksum CHAR(64) NOT NULL, " +
+                    "installed_at BIGINT NOT NULL, " +
+                    "execution_time BIGINT NOT NULL)")).join();
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Failed to create the migration history table", e.getCause());
+        }
+
+        Map<Long, String> applied = database.transactionAsync(tx ->
+                tx.query("SELECT version, checksum FROM " + HISTORY_TABLE, this::readHistory)).join();
+
+        int count = 0;
+        for (MigrationScript script : scripts) {
+            String checksum = applied.get(script.version());
+            if (checksum != null) {
+                if (!checksum.equals(script.checksum())) {
+                    throw new IllegalStateException("Migration V" + script.version() +
+                            " was modified after it was applied (checksum mismatch)");
+                }
+                continue;
+            }
+
+            apply(script);
+            count++;
+        }
+
+        if (count > 0) {
+            plugin.getLogger().info("Applied " + count + " database migration(s)");
+        }
+    }
+
+    private void apply(@NotNull MigrationScript script) {
+        plugin.getLogger().info("Applying migration V" + script.version() + ": " + script.description());
+        long start = System.currentTimeMillis();
+
+        try {
+            if (script.chunked()) {
+                runChunked(script);
+                database.transactionAsync(tx -> recordApplied(tx, script, start)).join();
+            } else {
+                database.transactionAsync(tx -> {
+                    for (String statement : script.statements()) {
+                        tx.execute(statement);
+                    }
+                    return recordApplied(tx, script, start);
+                }).join();
+            }
+        } catch (CompletionException e) {
+            throw new IllegalStateException("Migration V" + script.version() + " failed", e.getCause());
+        }
+    }
+
+    private void runChunked(@NotNull MigrationScript script) {
+        for (String statement : script.statements()) {
+            long total = 0;
+            int rows;
+            do {
+                rows = database.transactionAsync(tx -> tx.execute(statement)).join();
+                total += rows;
+            } while (rows > 0);
+
+            plugin.getLogger().info("Backfill V" + script.version() + " processed " + total + " row(s)");
+        }
+    }
+
+    private Void recordApplied(@NotNull Transaction tx, @NotNull MigrationScript script, long start) throws SQLException {
+        long now = System.currentTimeMillis();
+        tx.execute("INSERT INTO " + HISTORY_TABLE +
+                        " (version, description, checksum, installed_at, execution_time) VALUES (?, ?, ?, ?, ?)",
+                script.version(), script.description(), script.checksum(), now, now - start);
+        return null;
+    }
+
+    private @NotNull Map<Long, String> readHistory(@NotNull ResultSet rs) {
+        Map<Long, String> history = new HashMap<>();
+        try {
+            while (rs.next()) {
+                history.put(rs.getLong("version"), rs.getString("checksum").trim());
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("Failed to read migration history", e);
+        }
+        return history;
+    }
+
+    private @NotNull List<MigrationScript> loadScripts() throws IOException, URISyntaxException {
+        Path source = Path.of(plugin.getMainClass().getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<MigrationScript> scripts = new ArrayList<>();
+
+        if (Files.isDirectory(source)) {
+            Path dir = source.resolve(folder);
+            if (Files.isDirectory(dir)) {
+                try (Stream<Path> files = Files.list(dir)) {
+                    for (Path file : files.toList()) {
+                        addScript(scripts, file.getFileName().toString(), Files.readString(file));
+                    }
+                }
+            }
+        } else {
+            try (JarFile jar = new JarFile(source.toFile())) {
+                String prefix = folder + "/";
+                for (JarEntry entry : jar.stream().toList()) {
+                    String name = entry.getName();
+                    if (entry.isDirectory() || !name.startsWith(prefix) || name.indexOf('/', prefix.length()) != -1) {
+                        continue;
+                    }
+
+                    try (InputStream in = jar.getInputStream(entry)) {
+                        addScript(scripts, name.substring(prefix.length()), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                    }
+                }
+            }
+        }
+
+        scripts.sort(Comparator.comparingLong(MigrationScript::version));
+        for (int i = 1; i < scripts.size(); i++) {
+            if (scripts.get(i).version() == scripts.get(i - 1).version()) {
+                throw new IllegalStateException("Duplicate migration version: V" + scripts.get(i).version());
+            }
+        }
+        return scripts;
+    }
+
+    private void addScript(@NotNull List<MigrationScript> scripts, @NotNull String fileName, @NotNull String content) {
+        Matcher matcher = SCRIPT_NAME.matcher(fileName);
+        if (!matcher.matches()) {
+            if (fileName.endsWith(".sql")) {
+                plugin.getLogger().warning("Ignoring migration with invalid name: " + fileName);
+            }
+            return;
+        }
+
+        // Line endings depend on the checkout, they must not change the checksum
+        String normalized = content.replace("\r\n", "\n");
+
+        scripts.add(new MigrationScript(
+                Long.parseLong(matcher.group(1)),
+                matcher.group(2).replace('_', ' '),
+                checksum(normalized),
+                normalized.stripLeading().startsWith(CHUNKED_DIRECTIVE),
+                splitStatements(normalized)
+        ));
+    }
+
+    private static @NotNull String checksum(@NotNull String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Split a script on semicolons, ignoring those inside quotes and comments
+     */
+    static @NotNull List<String> splitStatements(@NotNull String script) {
+        List<String> statements = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        int length = script.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = script.charAt(i);
+            char next = i + 1 < length ? script.charAt(i + 1) : '\0';
+
+            if (c == '-' && next == '-') {
+                int end = script.indexOf('\n', i);
+                i = end == -1 ? length : end;
+                current.append('\n');
+            } else if (c == '/' && next == '*') {
+                int end = script.indexOf("*/", i + 2);
+                i = end == -1 ? length : end + 1;
+                current.append(' ');
+            } else if (c == '\'' || c == '"' || c == '`') {
+                int end = i + 1;
+                while (end < length) {
+                    if (script.charAt(end) == c) {
+                        // Doubled quote is an escaped quote
+                        if (end + 1 < length && script.charAt(end + 1) == c) {
+                            end += 2;
+                            continue;
+                        }
+                        break;
+                    }
+                    end++;
+                }
+                current.append(script, i, Math.min(end + 1, length));
+                i = end;
+            } else if (c == ';') {
+                addStatement(statements, current);
+            } else {
+                current.append(c);
+            }
+        }
+
+        addStatement(statements, current);
+        return statements;
+    }
+
+    private static void addStatement(List<String> statements, StringBuilder current) {
+        String statement = current.toString().trim();
+        if (!statement.isEmpty()) {
+            statements.add(statement);
+        }
+        current.setLength(0);
+    }
+
+    private record MigrationScript(long version, String description, String checksum,
+                                   boolean chunked, List<String> statements) {
+    }
+}
\ No newline at end of file
@@ -0,0 +1,175 @@
+package dev.oumaimaa.kawaiilib.managers.database;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Unit of work bound to a single pooled connection, created by {@link DatabaseManager#transactionAsync}
+ */
+public final class Transaction {
+
+    private final Connection connection;
+    private final DatabaseMetrics metrics;
+    private final List<QueuedStatement> queued = new ArrayList<>();
+
+    Transaction(Connection connection, DatabaseMetrics metrics) {
+        this.connection = connection;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Execute an update immediately and return the affected row count
+     */
+    public int execute(@NotNull String sql, Object... params) throws SQLException {
+        flush();
+
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            DatabaseManager.setParameters(stmt, params);
+            int rows = stmt.executeUpdate();
+            metrics.record(sql, 0, System.nanoTime() - start, rows);
+            return rows;
+        } catch (SQLException e) {
+            metrics.recordError(sql);
+            throw e;
+        }
+    }
+
+    /**
+     * Run a query and process its result set
+     */
+    public <T> T query(@NotNull String sql, @NotNull Function<ResultSet, T> processor, Object... params) throws SQLException {
+        flush();
+
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            DatabaseManager.setParameters(stmt, params);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                CountingResultSet counted = new CountingResultSet(rs);
+                T result = processor.apply(counted);
+                metrics.record(sql, 0, System.nanoTime() - start, counted.rows());
+                return result;
+            }
+        } catch (SQLException e) {
+            metrics.recordError(sql);
+            throw e;
+        }
+    }
+
+    /**
+     * Execute the same statement for every parameter set as one JDBC batch
+     */
+    public int @NotNull [] batch(@NotNull String sql, @NotNull Iterable<Object[]> paramsList) throws SQLException {
+        flush();
+        return executeBatch(sql, paramsList);
+    }
+
+    /**
+     * Queue an update to be sent later together with other queued updates.
+     * Queued statements run in the order they were queued, consecutive ones with the same SQL
+     * share a batch. They're sent before the next immediate statement, savepoint operation or the commit.
+     */
+    public void queue(@NotNull String sql, Object... params) {
+        queued.add(new QueuedStatement(sql, params));
+    }
+
+    /**
+     * Send all queued updates now
+     */
+    public void flush() throws SQLException {
+        if (queued.isEmpty()) return;
+
+        try {
+            int start = 0;
+            while (start < queued.size()) {
+                String sql = queued.get(start).sql;
+                int end = start + 1;
+                while (end < queued.size() && queued.get(end).sql.equals(sql)) {
+                    end++;
+                }
+
+                List<Object[]> run = new ArrayList<>(end - start);
+                for (int i = start; i < end; i++) {
+                    run.add(queued.get(i).params);
+                }
+                executeBatch(sql, run);
+                start = end;
+            }
+        } finally {
+            queued.clear();
+        }
+    }
+
+    public @NotNull Savepoint savepoint(@NotNull String name) throws SQLException {
+        flush();
+        return connection.setSavepoint(name);
+    }
+
+    /**
+     * Undo everything done after the savepoint while keeping the transaction open
+     */
+    public void rollbackTo(@NotNull Savepoint savepoint) throws SQLException {
+        // Statements queued after the savepoint belong to the part being undone
+        queued.clear();
+        connection.rollback(savepoint);
+    }
+
+    public void release(@NotNull Savepoint savepoint) throws SQLException {
+        flush();
+        connection.releaseSavepoint(savepoint);
+    }
+
+    /**
+     * Raw connection for operations not covered by this API, it must not be closed or committed
+     */
+    public @NotNull Connection getConnection() {
+        return connection;
+    }
+
+    private int[] executeBatch(String sql, Iterable<Object[]> paramsList) throws SQLException {
+        long start = System.nanoTime();
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            for (Object[] params : paramsList) {
+                DatabaseManager.setParameters(stmt, params);
+                stmt.addBatch();
+            }
+
+            int[] results = stmt.executeBatch();
+
+            long rows = 0;
+            for (int count : results) {
+                rows += Math.max(0, count);
+            }
+            metrics.record(sql, 0, System.nanoTime() - start, rows);
+
+            return results;
+        } catch (SQLException e) {
+            metrics.recordError(sql);
+            throw e;
+        }
+    }
+
+    void discardQueued() {
+        queued.clear();
+    }
+
+    private record QueuedStatement(String sql, Object[] params) {
+    }
+
+    /**
+     * Body of a transaction, it may run more than once when the database asks for a retry
+     */
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(@NotNull Transaction tx) throws SQLException;
+    }
+}
\ No newline at end of file
@@ -4,12 +4,14 @@ import dev.oumaimaa.kawaiilib.Bootstrap;
 import dev.oumaimaa.kawaiilib.annotations.EventListener;
 import org.bukkit.Bukkit;
 import org.bukkit.event.Event;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.jetbrains.annotations.NotNull;
 import org.reflections.Reflections;
 
 import java.lang.reflect.Method;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public final class EventManager implements Listener {
 
@@ -51,6 +53,33 @@ public final class EventManager implements Listener {
         }
     }
 
+    /**
+     * Register a handler for an event type on behalf of a KawaiiLib subsystem
+     */
+    public <T extends Event> void registerHandler(@NotNull Class<T> eventClass,
+                                                  @NotNull EventPriority priority,
+                                                  boolean ignoreCancelled,
+                                                  @NotNull Consumer<T> handler) {
+        Bukkit.getPluginManager().registerEvent(
+                eventClass,
+                this,
+                priority,
+                (listener, event) -> {
+                    // Bukkit also hands us subclasses of other registered events
+                    if (!eventClass.isInstance(event)) return;
+
+                    try {
+                        handler.accept(eventClass.cast(event));
+                    } catch (Exception e) {
+                        plugin.getLogger().severe("Error handling " + eventClass.getSimpleName() + ": " + e.getMessage());
+                        e.printStackTrace();
+                    }
+                },
+                plugin,
+                ignoreCancelled
+        );
+    }
+
     @SuppressWarnings("unchecked")
     private <T extends Event> void registerEventHandler(
             @NotNull Class<T> eventClass,
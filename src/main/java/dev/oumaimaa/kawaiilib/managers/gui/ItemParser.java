@@ -0,0 +1,242 @@
+package dev.oumaimaa.kawaiilib.managers.gui;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Material;
+import org.bukkit.NamespacedKey;
+import org.bukkit.Registry;
+import org.bukkit.enchantments.Enchantment;
+import org.bukkit.inventory.ItemFlag;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.ItemMeta;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Parses {@link dev.oumaimaa.kawaiilib.annotations.Button} item strings into item templates.
+ * <p>
+ * Grammar: {@code MATERIAL[:amount][{key=value, ...}]} where a value is a quoted string ({@code '...'} or
+ * {@code "..."}, backslash escapes the next character), a bare word, or a list {@code [value, ...]}.
+ * Supported keys are {@code name}, {@code lore}, {@code amount}, {@code enchants} ({@code [sharpness:5, ...]}),
+ * {@code model} (custom model data), {@code flags} ({@code [HIDE_ENCHANTS, ...]}), {@code glow} and
+ * {@code unbreakable}. Only {@code amount} applies to materials without item meta, such as {@code AIR}.
+ */
+final class ItemParser {
+
+    private static final String MATERIAL_END = ":{";
+    private static final String VALUE_END = ",=[]{}";
+
+    private final MiniMessage miniMessage;
+    private final String input;
+    private int position;
+
+    private ItemParser(MiniMessage miniMessage, String input) {
+        this.miniMessage = miniMessage;
+        this.input = input;
+    }
+
+    /**
+     * Parse an item string, throws {@link IllegalArgumentException} pointing at the offending character
+     */
+    static @NotNull ItemStack parse(@NotNull MiniMessage miniMessage, @NotNull String itemString) {
+        return new ItemParser(miniMessage, itemString).parseItem();
+    }
+
+    private @NotNull ItemStack parseItem() {
+        skipWhitespace();
+        String materialName = readWord(MATERIAL_END);
+        Material material = Material.matchMaterial(materialName);
+        if (material == null || !material.isItem()) {
+            throw error("Unknown item material '" + materialName + "'");
+        }
+
+        ItemStack item = new ItemStack(material);
+        skipWhitespace();
+        if (peek() == ':') {
+            position++;
+            item.setAmount(parseInt(readWord(VALUE_END)));
+            skipWhitespace();
+        }
+
+        if (peek() == '{') {
+            position++;
+            ItemMeta meta = item.getItemMeta(); // Null for AIR and other materials without meta
+            parseProperties(item, meta);
+            if (meta != null) {
+                item.setItemMeta(meta);
+            }
+            skipWhitespace();
+        }
+
+        if (position < input.length()) {
+            throw error("Unexpected '" + input.charAt(position) + "'");
+        }
+        return item;
+    }
+
+    private void parseProperties(@NotNull ItemStack item, @Nullable ItemMeta meta) {
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return;
+        }
+
+        while (true) {
+            skipWhitespace();
+            int keyStart = position;
+            String key = readWord(VALUE_END).toLowerCase(Locale.ROOT);
+            skipWhitespace();
+            expect('=');
+            skipWhitespace();
+
+            if (meta == null && !key.equals("amount")) {
+                position = keyStart;
+                throw error("'" + item.getType() + "' can't have property '" + key + "'");
+            }
+
+            switch (key) {
+                case "name" -> meta.displayName(text(readValue()));
+                case "lore" -> meta.lore(peek() == '['
+                        ? readList().stream().map(this::text).toList()
+                        : List.of(text(readValue())));
+                case "amount" -> item.setAmount(parseInt(readValue()));
+                case "model", "custom-model-data", "cmd" -> meta.setCustomModelData(parseInt(readValue()));
+                case "glow" -> meta.setEnchantmentGlintOverride(Boolean.parseBoolean(readValue()));
+                case "unbreakable" -> meta.setUnbreakable(Boolean.parseBoolean(readValue()));
+                case "enchants", "enchantments" -> {
+                    for (String entry : readListOrValue()) {
+                        String[] parts = entry.split(":", 2);
+                        Enchantment enchantment = Registry.ENCHANTMENT.get(NamespacedKey.minecraft(parts[0].trim().toLowerCase(Locale.ROOT)));
+                        if (enchantment == null) {
+                            throw error("Unknown enchantment '" + parts[0] + "'");
+                        }
+                        meta.addEnchant(enchantment, parts.length > 1 ? parseInt(parts[1].trim()) : 1, true);
+                    }
+                }
+                case "flags" -> {
+                    for (String flag : readListOrValue()) {
+                        try {
+                            meta.addItemFlags(ItemFlag.valueOf(flag.trim().toUpperCase(Locale.ROOT)));
+                        } catch (IllegalArgumentException e) {
+                            throw error("Unknown item flag '" + flag + "'");
+                        }
+                    }
+                }
+                default -> {
+                    position = keyStart;
+                    throw error("Unknown property '" + key + "'");
+                }
+            }
+
+            skipWhitespace();
+            char next = peek();
+            position++;
+            if (next == '}') return;
+            if (next != ',') {
+                position--;
+                throw error("Expected ',' or '}'");
+            }
+        }
+    }
+
+    private @NotNull Component text(@NotNull String value) {
+        return miniMessage.deserialize(value);
+    }
+
+    private @NotNull List<String> readListOrValue() {
+        return peek() == '[' ? readList() : List.of(readValue());
+    }
+
+    private @NotNull List<String> readList() {
+        expect('[');
+        List<String> values = new ArrayList<>();
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return values;
+        }
+
+        while (true) {
+            skipWhitespace();
+            values.add(readValue());
+            skipWhitespace();
+            char next = peek();
+            position++;
+            if (next == ']') return values;
+            if (next != ',') {
+                position--;
+                throw error("Expected ',' or ']'");
+            }
+        }
+    }
+
+    private @NotNull String readValue() {
+        char quote = peek();
+        if (quote != '\'' && quote != '"') {
+            return readWord(VALUE_END);
+        }
+
+        position++;
+        StringBuilder value = new StringBuilder();
+        while (position < input.length()) {
+            char c = input.charAt(position++);
+            if (c == '\\' && position < input.length()) {
+                value.append(input.charAt(position++));
+            } else if (c == quote) {
+                return value.toString();
+            } else {
+                value.append(c);
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    /**
+     * A bare word runs until a structural character, quote values that need one
+     */
+    private @NotNull String readWord(@NotNull String terminators) {
+        int start = position;
+        while (position < input.length() && terminators.indexOf(input.charAt(position)) == -1) {
+            position++;
+        }
+
+        String word = input.substring(start, position).trim();
+        if (word.isEmpty()) {
+            throw error("Expected a value");
+        }
+        return word;
+    }
+
+    private int parseInt(@NotNull String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw error("Expected a number but got '" + value + "'");
+        }
+    }
+
+    private void expect(char expected) {
+        if (peek() != expected) {
+            throw error("Expected '" + expected + "'");
+        }
+        position++;
+    }
+
+    private char peek() {
+        return position < input.length() ? input.charAt(position) : '\0';
+    }
+
+    private void skipWhitespace() {
+        while (position < input.length() && Character.isWhitespace(input.charAt(position))) {
+            position++;
+        }
+    }
+
+    private @NotNull IllegalArgumentException error(@NotNull String message) {
+        return new IllegalArgumentException(message + " at index " + position + " in \"" + input + "\"");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package dev.oumaimaa.kawaiilib.managers.gui;
+
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Target of a {@link ReactiveMenu} render pass
+ */
+public final class MenuCanvas {
+
+    private final ItemStack[] items;
+
+    MenuCanvas(@Nullable ItemStack @NotNull [] base) {
+        this.items = base.clone();
+    }
+
+    public void set(int slot, @Nullable ItemStack item) {
+        items[slot] = item;
+    }
+
+    public @Nullable ItemStack get(int slot) {
+        return items[slot];
+    }
+
+    public void clear(int slot) {
+        items[slot] = null;
+    }
+
+    public int size() {
+        return items.length;
+    }
+
+    @Nullable ItemStack @NotNull [] items() {
+        return items;
+    }
+}
\ No newline at end of file
@@ -5,6 +5,8 @@ import dev.oumaimaa.kawaiilib.annotations.Button;
 import dev.oumaimaa.kawaiilib.annotations.Close;
 import dev.oumaimaa.kawaiilib.annotations.Menu;
 import dev.oumaimaa.kawaiilib.annotations.PaginatedMenu;
+import dev.oumaimaa.kawaiilib.annotations.Skull;
+import dev.oumaimaa.kawaiilib.utils.CooldownManager;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
@@ -12,21 +14,36 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.Listener;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.event.inventory.InventoryCloseEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
-import org.bukkit.inventory.meta.ItemMeta;
 import org.jetbrains.annotations.NotNull;
 import org.reflections.Reflections;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 public final class MenuManager implements Listener {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
     private final Bootstrap plugin;
     private final Map<Class<?>, MenuWrapper> menus = new ConcurrentHashMap<>();
+    private final Map<Class<?>, PaginatedMenuWrapper> paginatedMenus = new ConcurrentHashMap<>();
     private final Map<UUID, MenuSession> activeSessions = new ConcurrentHashMap<>();
+    private final Map<Class<?>, MenuView> sharedViews = new ConcurrentHashMap<>();
+    private final Set<MenuView> dirtyViews = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean renderScheduled = new AtomicBoolean();
+    private final Set<String> runningActions = ConcurrentHashMap.newKeySet();
 
     public MenuManager(Bootstrap plugin) {
         this.plugin = plugin;
@@ -41,22 +58,17 @@ public final class MenuManager implements Listener {
                 Menu ann = clazz.getAnnotation(Menu.class);
                 Object instance = clazz.getDeclaredConstructor().newInstance();
 
-                Map<Integer, ButtonWrapper> buttons = new HashMap<>();
-                Method closeMethod = null;
-
-                for (Method method : clazz.getDeclaredMethods()) {
-                    if (method.isAnnotationPresent(Button.class)) {
-                        Button btnAnn = method.getAnnotation(Button.class);
-                        buttons.put(btnAnn.slot(), new ButtonWrapper(method, btnAnn, instance));
-                    }
+                ButtonWrapper[] buttons = collectButtons(clazz, instance, ann.rows() * 9);
+                Method closeMethod = findCloseMethod(clazz);
 
-                    if (method.isAnnotationPresent(Close.class)) {
-                        closeMethod = method;
-                    }
+                ItemStack[] items = new ItemStack[buttons.length];
+                for (int slot = 0; slot < buttons.length; slot++) {
+                    items[slot] = buttons[slot] != null ? buttons[slot].item : null;
                 }
 
-                MenuWrapper wrapper = new MenuWrapper(instance, ann, buttons, closeMethod);
+                MenuWrapper wrapper = new MenuWrapper(instance, ann, buttons, closeMethod, items);
                 menus.put(clazz, wrapper);
+                bindStates(clazz, instance);
 
                 plugin.getLogger().info("Registered menu: " + ann.title());
             } catch (Exception e) {
@@ -72,6 +84,32 @@ public final class MenuManager implements Listener {
                 PaginatedMenu ann = clazz.getAnnotation(PaginatedMenu.class);
                 Object instance = clazz.getDeclaredConstructor().newInstance();
 
+                if (!(instance instanceof PageSource<?> source)) {
+                    plugin.getLogger().severe("Paginated menu " + clazz.getName() + " must implement PageSource");
+                    continue;
+                }
+                if (ann.rows() < 2 || ann.rows() > 6) {
+                    plugin.getLogger().severe("Paginated menu " + clazz.getName() + " needs between 2 and 6 rows");
+                    continue;
+                }
+
+                ButtonWrapper[] buttons = collectButtons(clazz, instance, ann.rows() * 9);
+                for (int slot = 0; slot < buttons.length; slot++) {
+                    if (buttons[slot] != null && PaginatedSession.isReserved(slot, buttons.length)) {
+                        plugin.getLogger().warning("Button slot " + slot + " of paginated menu " + clazz.getName()
+                                + " holds entries or a page arrow, the button is ignored");
+                        buttons[slot] = null;
+                    }
+                }
+
+                PaginatedMenuWrapper wrapper = new PaginatedMenuWrapper(
+                        source, ann, buttons, findCloseMethod(clazz),
+                        parseItem(ann.previousItem(), clazz),
+                        parseItem(ann.nextItem(), clazz),
+                        parseItem(ann.loadingItem(), clazz)
+                );
+                paginatedMenus.put(clazz, wrapper);
+
                 plugin.getLogger().info("Registered paginated menu: " + ann.title());
             } catch (Exception e) {
                 plugin.getLogger().severe("Failed to register paginated menu: " + clazz.getName());
@@ -80,131 +118,425 @@ public final class MenuManager implements Listener {
         }
     }
 
+    /**
+     * Collect the buttons of a menu into an array indexed by slot
+     */
+    private @NotNull ButtonWrapper @NotNull [] collectButtons(@NotNull Class<?> clazz, @NotNull Object instance, int size)
+            throws IllegalAccessException {
+        ButtonWrapper[] buttons = new ButtonWrapper[size];
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (!method.isAnnotationPresent(Button.class)) continue;
+
+            Button btnAnn = method.getAnnotation(Button.class);
+            if (btnAnn.slot() < 0 || btnAnn.slot() >= size) {
+                plugin.getLogger().warning("Button slot " + btnAnn.slot() + " is outside menu " + clazz.getName());
+                continue;
+            }
+
+            try {
+                ButtonInvoker invoker = compileInvoker(method, instance);
+                ItemStack item = parseItem(btnAnn.item(), clazz);
+
+                // Skull buttons show a placeholder head until the owner's texture is resolved
+                Skull skull = method.getAnnotation(Skull.class);
+                if (skull != null) {
+                    int slot = btnAnn.slot();
+                    item = plugin.getSkullService().head(skull.owner(), item,
+                            head -> replaceButtonItem(clazz, buttons, slot, head));
+                }
+
+                buttons[btnAnn.slot()] = new ButtonWrapper(
+                        method,
+                        btnAnn,
+                        item,
+                        btnAnn.async() ? parseItem(btnAnn.loadingItem(), clazz) : null,
+                        invoker,
+                        "menu:" + clazz.getName() + ":" + btnAnn.slot(),
+                        btnAnn.cooldown() > 0 ? Duration.ofMillis(btnAnn.cooldown()) : null
+                );
+            } catch (IllegalArgumentException e) {
+                plugin.getLogger().severe("Invalid button " + method.getName() + " in " + clazz.getName() + ": " + e.getMessage());
+            }
+        }
+        return buttons;
+    }
+
+    /**
+     * Swap in a button item that was resolved after registration and re-render the menu, or update the
+     * open pages when it's a paginated menu
+     */
+    private void replaceButtonItem(@NotNull Class<?> clazz, @NotNull ButtonWrapper @NotNull [] buttons, int slot,
+                                   @NotNull ItemStack item) {
+        ButtonWrapper old = buttons[slot];
+        if (old == null) return;
+
+        buttons[slot] = new ButtonWrapper(old.method, old.annotation, item, old.loadingItem,
+                old.invoker, old.cooldownKey, old.cooldown);
+
+        MenuWrapper wrapper = menus.get(clazz);
+        if (wrapper != null) {
+            wrapper.items[slot] = item;
+            invalidate(clazz);
+            return;
+        }
+
+        // Paginated sessions aren't tracked, their holders are found through the viewers' open inventories
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            if (player.getOpenInventory().getTopInventory().getHolder(false) instanceof MenuHolder holder
+                    && holder.paginated != null && holder.paginated.wrapper.buttons == buttons) {
+                holder.inventory.setItem(slot, item.clone());
+            }
+        }
+    }
+
+    /**
+     * Adapt a button method to a (Player, InventoryClickEvent) handle once, clicks then skip reflection entirely
+     */
+    private @NotNull ButtonInvoker compileInvoker(@NotNull Method method, @NotNull Object instance) throws IllegalAccessException {
+        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), LOOKUP);
+        MethodHandle handle = lookup.unreflect(method);
+        if (!Modifier.isStatic(method.getModifiers())) {
+            handle = handle.bindTo(instance);
+        }
+
+        Class<?>[] paramTypes = method.getParameterTypes();
+        if (paramTypes.length == 0) {
+            handle = MethodHandles.dropArguments(handle, 0, Player.class, InventoryClickEvent.class);
+        } else if (paramTypes.length == 1 && Player.class.isAssignableFrom(paramTypes[0])) {
+            handle = MethodHandles.dropArguments(handle, 1, InventoryClickEvent.class);
+        } else if (paramTypes.length != 2
+                || !Player.class.isAssignableFrom(paramTypes[0])
+                || !InventoryClickEvent.class.isAssignableFrom(paramTypes[1])) {
+            throw new IllegalArgumentException("parameters must be (), (Player) or (Player, InventoryClickEvent)");
+        }
+
+        // Void methods return null through the adapted handle, async buttons may return a Runnable
+        MethodHandle invoker = handle.asType(MethodType.methodType(Object.class, Player.class, InventoryClickEvent.class));
+        return (player, event) -> (Object) invoker.invokeExact(player, event);
+    }
+
+    /**
+     * Re-render every open view of the menu whenever one of its {@link MenuState} fields changes
+     */
+    private void bindStates(@NotNull Class<?> clazz, @NotNull Object instance) throws IllegalAccessException {
+        for (Field field : clazz.getDeclaredFields()) {
+            if (MenuState.class.isAssignableFrom(field.getType())) {
+                field.setAccessible(true);
+                MenuState<?> state = (MenuState<?>) field.get(Modifier.isStatic(field.getModifiers()) ? null : instance);
+                if (state != null) {
+                    state.subscribe(() -> invalidate(clazz));
+                }
+            }
+        }
+    }
+
+    private Method findCloseMethod(@NotNull Class<?> clazz) {
+        for (Method method : clazz.getDeclaredMethods()) {
+            if (method.isAnnotationPresent(Close.class)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
     public void openMenu(@NotNull Player player, @NotNull Class<?> menuClass) {
+        PaginatedMenuWrapper paginated = paginatedMenus.get(menuClass);
+        if (paginated != null) {
+            openPaginatedMenu(player, paginated);
+            return;
+        }
+
         MenuWrapper wrapper = menus.get(menuClass);
         if (wrapper == null) {
             plugin.getLogger().warning("Menu not found: " + menuClass.getName());
             return;
         }
 
-        Inventory inv = createInventory(wrapper);
-        populateInventory(inv, wrapper);
+        MenuView view;
+        if (wrapper.annotation.shared()) {
+            // Everyone shares one inventory, it's only built again after its content changed
+            view = sharedViews.computeIfAbsent(menuClass, c -> createView(c, wrapper, null));
+            if (view.stale) {
+                render(view, player);
+            }
+        } else {
+            view = createView(menuClass, wrapper, player);
+            render(view, player);
+        }
 
-        MenuSession session = new MenuSession(menuClass, inv, wrapper);
+        MenuSession session = new MenuSession(player, view);
         activeSessions.put(player.getUniqueId(), session);
 
-        player.openInventory(inv);
+        player.openInventory(view.inventory);
     }
 
-    private @NotNull Inventory createInventory(@NotNull MenuWrapper wrapper) {
-        Menu ann = wrapper.annotation;
-        int size = ann.rows() * 9;
+    /**
+     * Re-render the open views of a menu on the next tick
+     */
+    public void invalidate(@NotNull Class<?> menuClass) {
+        MenuView shared = sharedViews.get(menuClass);
+        if (shared != null) {
+            markDirty(shared);
+            return;
+        }
 
-        return Bukkit.createInventory(
-                null,
-                size,
-                plugin.formatText(ann.title())
-        );
+        for (MenuSession session : activeSessions.values()) {
+            if (session.view.menuClass == menuClass) {
+                markDirty(session.view);
+            }
+        }
     }
 
-    private void populateInventory(@NotNull Inventory inv, @NotNull MenuWrapper wrapper) {
-        for (Map.Entry<Integer, ButtonWrapper> entry : wrapper.buttons.entrySet()) {
-            int slot = entry.getKey();
-            ButtonWrapper button = entry.getValue();
-
-            ItemStack item = parseItemString(button.annotation.item());
-            inv.setItem(slot, item);
+    /**
+     * Re-render the menu a player has open on the next tick
+     */
+    public void invalidate(@NotNull Player player) {
+        MenuSession session = activeSessions.get(player.getUniqueId());
+        if (session != null) {
+            markDirty(session.view);
         }
     }
 
-    private @NotNull ItemStack parseItemString(@NotNull String itemString) {
-        // Parse format: "MATERIAL{name='Name',lore=['Line1','Line2']}"
-        String[] parts = itemString.split("\\{", 2);
-        String materialName = parts[0].trim();
-
-        Material material = Material.matchMaterial(materialName);
-        if (material == null) {
-            material = Material.STONE;
+    private void markDirty(@NotNull MenuView view) {
+        dirtyViews.add(view);
+        if (renderScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(plugin, this::renderDirty);
         }
+    }
 
-        ItemStack item = new ItemStack(material);
+    private void renderDirty() {
+        renderScheduled.set(false);
+        for (Iterator<MenuView> it = dirtyViews.iterator(); it.hasNext(); ) {
+            MenuView view = it.next();
+            it.remove();
 
-        if (parts.length > 1) {
-            String properties = parts[1].replace("}", "");
-            ItemMeta meta = item.getItemMeta();
+            if (view.owner != null) {
+                MenuSession session = activeSessions.get(view.owner.getUniqueId());
+                if (session != null && session.view == view) {
+                    render(view, view.owner);
+                }
+                continue;
+            }
+
+            // Shared views nobody looks at are rendered when the next viewer opens them
+            Player viewer = view.inventory.getViewers().stream()
+                    .filter(Player.class::isInstance)
+                    .map(Player.class::cast)
+                    .findFirst().orElse(null);
+            if (viewer != null) {
+                render(view, viewer);
+            } else {
+                view.stale = true;
+            }
+        }
+    }
 
-            if (properties.contains("name=")) {
-                String name = extractProperty(properties, "name");
-                meta.displayName(plugin.formatText(name));
+    /**
+     * Render the menu into a canvas and send only the slots that differ from the previous render
+     */
+    private void render(@NotNull MenuView view, @NotNull Player viewer) {
+        MenuCanvas canvas = new MenuCanvas(view.wrapper.items);
+        if (view.wrapper.instance instanceof ReactiveMenu reactive) {
+            try {
+                reactive.render(viewer, canvas);
+            } catch (Exception e) {
+                plugin.getLogger().severe("Error rendering menu " + view.menuClass.getName() + ": " + e.getMessage());
+                e.printStackTrace();
+                return;
             }
+        }
 
-            if (properties.contains("lore=")) {
-                String loreStr = extractProperty(properties, "lore");
-                List<net.kyori.adventure.text.Component> lore = Arrays.stream(loreStr.split(","))
-                        .map(line -> plugin.formatText(line.trim().replace("'", "")))
-                        .toList();
-                meta.lore(lore);
+        ItemStack[] next = canvas.items();
+        for (int slot = 0; slot < next.length; slot++) {
+            if (!Objects.equals(view.rendered[slot], next[slot])) {
+                // Keep the copy that was sent, templates and canvas items may be changed by the menu afterwards
+                ItemStack item = next[slot] == null ? null : next[slot].clone();
+                view.rendered[slot] = item;
+                view.inventory.setItem(slot, item);
             }
+        }
+        view.stale = false;
+    }
 
-            item.setItemMeta(meta);
+    private <T> void openPaginatedMenu(@NotNull Player player, @NotNull PaginatedMenuWrapper wrapper) {
+        PaginatedMenu ann = wrapper.annotation;
+        MenuHolder holder = new MenuHolder();
+        Inventory inv = Bukkit.createInventory(holder, ann.rows() * 9, plugin.formatText(ann.title()));
+        holder.inventory = inv;
+        for (int slot = 0; slot < wrapper.buttons.length; slot++) {
+            if (wrapper.buttons[slot] != null) {
+                inv.setItem(slot, wrapper.buttons[slot].item.clone());
+            }
         }
 
-        return item;
+        @SuppressWarnings("unchecked")
+        PageSource<T> source = (PageSource<T>) wrapper.source;
+        PaginatedSession<T> session = new PaginatedSession<>(plugin, player, source, inv,
+                wrapper.previousItem, wrapper.nextItem, wrapper.loadingItem);
+
+        holder.paginated = new PaginatedView(session, wrapper);
+        player.openInventory(inv);
+        session.open();
+    }
+
+    private @NotNull MenuView createView(@NotNull Class<?> menuClass, @NotNull MenuWrapper wrapper, Player owner) {
+        Menu ann = wrapper.annotation;
+        int size = ann.rows() * 9;
+
+        MenuHolder holder = new MenuHolder();
+        holder.inventory = Bukkit.createInventory(
+                holder,
+                size,
+                plugin.formatText(ann.title())
+        );
+        holder.view = new MenuView(menuClass, wrapper, holder.inventory, owner);
+        return holder.view;
     }
 
-    private @NotNull String extractProperty(@NotNull String properties, String key) {
-        int start = properties.indexOf(key + "='") + key.length() + 2;
-        int end = properties.indexOf("'", start);
-        if (end == -1) end = properties.length();
-        return properties.substring(start, end);
+    /**
+     * Parse a button item once at registration, menus only clone the resulting template
+     */
+    private @NotNull ItemStack parseItem(@NotNull String itemString, @NotNull Class<?> menuClass) {
+        try {
+            return ItemParser.parse(plugin.getMiniMessage(), itemString);
+        } catch (IllegalArgumentException e) {
+            plugin.getLogger().warning("Invalid button item in " + menuClass.getName() + ": " + e.getMessage());
+            return new ItemStack(Material.STONE);
+        }
     }
 
     @EventHandler
     public void onInventoryClick(@NotNull InventoryClickEvent event) {
+        // Menus carry their own holder, any other inventory is rejected by this one type check
+        if (!(event.getInventory().getHolder(false) instanceof MenuHolder holder)) return;
+
+        event.setCancelled(true);
         if (!(event.getWhoClicked() instanceof Player player)) return;
 
-        MenuSession session = activeSessions.get(player.getUniqueId());
-        if (session == null) return;
+        int slot = event.getRawSlot();
+        if (slot < 0 || slot >= holder.inventory.getSize()) return; // Clicked the player's own inventory
 
-        if (!event.getInventory().equals(session.inventory)) return;
+        if (holder.paginated != null) {
+            if (!holder.paginated.session.click(slot, event)) {
+                invokeButton(holder, slot, holder.paginated.wrapper.buttons[slot], player, event);
+            }
+            return;
+        }
 
-        event.setCancelled(true);
+        invokeButton(holder, slot, holder.view.wrapper.buttons[slot], player, event);
+    }
 
-        int slot = event.getSlot();
-        ButtonWrapper button = session.wrapper.buttons.get(slot);
+    private void invokeButton(@NotNull MenuHolder holder, int slot, ButtonWrapper button,
+                              @NotNull Player player, @NotNull InventoryClickEvent event) {
+        if (button == null) return;
 
-        if (button != null) {
+        // Clicks faster than the button cooldown are dropped silently, like a client that didn't register them
+        if (button.cooldown != null) {
+            CooldownManager cooldowns = plugin.getCooldownManager();
+            if (cooldowns.isOnCooldown(button.cooldownKey, player.getUniqueId(), button.cooldown)) return;
+            cooldowns.setCooldown(button.cooldownKey, player.getUniqueId());
+        }
+
+        if (!button.annotation.async()) {
             try {
-                button.method.setAccessible(true);
-
-                Class<?>[] paramTypes = button.method.getParameterTypes();
-                if (paramTypes.length == 1 && Player.class.isAssignableFrom(paramTypes[0])) {
-                    button.method.invoke(button.instance, player);
-                } else if (paramTypes.length == 2 &&
-                        Player.class.isAssignableFrom(paramTypes[0]) &&
-                        InventoryClickEvent.class.isAssignableFrom(paramTypes[1])) {
-                    button.method.invoke(button.instance, player, event);
-                } else {
-                    button.method.invoke(button.instance);
-                }
-            } catch (Exception e) {
+                button.invoker.invoke(player, event);
+            } catch (Throwable e) {
                 plugin.getLogger().severe("Error executing button action: " + e.getMessage());
                 e.printStackTrace();
             }
+            return;
+        }
+
+        invokeAsync(holder, slot, button, player, event);
+    }
+
+    /**
+     * Run an async button once per player at a time, showing its loading item until the action is done
+     */
+    private void invokeAsync(@NotNull MenuHolder holder, int slot, @NotNull ButtonWrapper button,
+                             @NotNull Player player, @NotNull InventoryClickEvent event) {
+        String actionKey = button.cooldownKey + ":" + player.getUniqueId();
+        if (!runningActions.add(actionKey)) return;
+
+        // A shared inventory is seen by everyone, so only private views show the loading state
+        boolean showLoading = holder.view == null || holder.view.owner != null;
+        if (showLoading) {
+            holder.inventory.setItem(slot, button.loadingItem.clone());
         }
+
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, () -> {
+            Object result = null;
+            try {
+                result = button.invoker.invoke(player, event);
+            } catch (Throwable e) {
+                plugin.getLogger().severe("Error executing async button action: " + e.getMessage());
+                e.printStackTrace();
+            }
+
+            Object completion = result;
+            Bukkit.getScheduler().runTask(plugin, () -> {
+                runningActions.remove(actionKey);
+
+                if (showLoading) {
+                    ItemStack current = holder.view != null ? holder.view.rendered[slot] : button.item;
+                    holder.inventory.setItem(slot, current == null ? null : current.clone());
+                }
+
+                if (completion instanceof Runnable apply && player.isOnline()) {
+                    try {
+                        apply.run();
+                    } catch (Exception e) {
+                        plugin.getLogger().severe("Error applying async button result: " + e.getMessage());
+                        e.printStackTrace();
+                    }
+                }
+            });
+        });
     }
 
     @EventHandler
     public void onInventoryClose(@NotNull InventoryCloseEvent event) {
+        if (!(event.getInventory().getHolder(false) instanceof MenuHolder holder)) return;
         if (!(event.getPlayer() instanceof Player player)) return;
 
-        MenuSession session = activeSessions.remove(player.getUniqueId());
-        if (session == null) return;
+        if (holder.paginated != null) {
+            holder.paginated.session.close();
+            invokeClose(holder.paginated.wrapper.closeMethod, holder.paginated.wrapper.source, player);
+            return;
+        }
+
+        // The next menu may already be registered when this one closes because it got replaced
+        MenuSession session = activeSessions.get(player.getUniqueId());
+        if (session != null && session.view == holder.view) {
+            activeSessions.remove(player.getUniqueId(), session);
+        }
+
+        invokeClose(holder.view.wrapper.closeMethod, holder.view.wrapper.instance, player);
+    }
 
-        if (session.wrapper.closeMethod != null) {
+    @EventHandler
+    public void onPlayerQuit(@NotNull PlayerQuitEvent event) {
+        // Button cooldowns only throttle clicks, once the player left they would only keep the entries alive
+        UUID uuid = event.getPlayer().getUniqueId();
+        CooldownManager cooldowns = plugin.getCooldownManager();
+        menus.values().forEach(wrapper -> resetCooldowns(cooldowns, wrapper.buttons, uuid));
+        paginatedMenus.values().forEach(wrapper -> resetCooldowns(cooldowns, wrapper.buttons, uuid));
+    }
+
+    private static void resetCooldowns(@NotNull CooldownManager cooldowns, ButtonWrapper @NotNull [] buttons,
+                                       @NotNull UUID uuid) {
+        for (ButtonWrapper button : buttons) {
+            if (button != null && button.cooldown != null) {
+                cooldowns.resetCooldown(button.cooldownKey, uuid);
+            }
+        }
+    }
+
+    private void invokeClose(Method closeMethod, @NotNull Object instance, @NotNull Player player) {
+        if (closeMethod != null) {
             try {
-                session.wrapper.closeMethod.setAccessible(true);
-                session.wrapper.closeMethod.invoke(session.wrapper.instance, player);
+                closeMethod.setAccessible(true);
+                closeMethod.invoke(instance, player);
             } catch (Exception e) {
                 plugin.getLogger().severe("Error executing close handler: " + e.getMessage());
                 e.printStackTrace();
@@ -215,22 +547,82 @@ public final class MenuManager implements Listener {
     private record MenuWrapper(
             Object instance,
             Menu annotation,
-            Map<Integer, ButtonWrapper> buttons,
-            Method closeMethod
+            ButtonWrapper[] buttons,
+            Method closeMethod,
+            ItemStack[] items
+    ) {
+    }
+
+    private record PaginatedMenuWrapper(
+            PageSource<?> source,
+            PaginatedMenu annotation,
+            ButtonWrapper[] buttons,
+            Method closeMethod,
+            ItemStack previousItem,
+            ItemStack nextItem,
+            ItemStack loadingItem
     ) {
     }
 
     private record ButtonWrapper(
             Method method,
             Button annotation,
-            Object instance
+            ItemStack item,
+            ItemStack loadingItem,
+            ButtonInvoker invoker,
+            String cooldownKey,
+            Duration cooldown
     ) {
     }
 
+    @FunctionalInterface
+    private interface ButtonInvoker {
+        Object invoke(Player player, InventoryClickEvent event) throws Throwable;
+    }
+
+    /**
+     * Marks inventories created by this manager and points clicks straight at their view
+     */
+    private static final class MenuHolder implements InventoryHolder {
+        private Inventory inventory;
+        private MenuView view;
+        private PaginatedView paginated;
+
+        @Override
+        public @NotNull Inventory getInventory() {
+            return inventory;
+        }
+    }
+
+    /**
+     * Inventory of a menu with the items last sent to it, owned by one player or shared when the owner is null
+     */
+    private static final class MenuView {
+        private final Class<?> menuClass;
+        private final MenuWrapper wrapper;
+        private final Inventory inventory;
+        private final Player owner;
+        private final ItemStack[] rendered;
+        private volatile boolean stale = true;
+
+        private MenuView(Class<?> menuClass, MenuWrapper wrapper, Inventory inventory, Player owner) {
+            this.menuClass = menuClass;
+            this.wrapper = wrapper;
+            this.inventory = inventory;
+            this.owner = owner;
+            this.rendered = new ItemStack[inventory.getSize()];
+        }
+    }
+
     private record MenuSession(
-            Class<?> menuClass,
-            Inventory inventory,
-            MenuWrapper wrapper
+            Player player,
+            MenuView view
+    ) {
+    }
+
+    private record PaginatedView(
+            PaginatedSession<?> session,
+            PaginatedMenuWrapper wrapper
     ) {
     }
 }
\ No newline at end of file
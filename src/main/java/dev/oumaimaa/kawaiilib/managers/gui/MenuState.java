@@ -0,0 +1,49 @@
+package dev.oumaimaa.kawaiilib.managers.gui;
+
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.UnaryOperator;
+
+/**
+ * Observable value of a reactive menu, declare it as a field and every open view of the menu re-renders when it changes.
+ * <p>
+ * Values may be set from any thread, renders are batched into one pass per tick on the main thread.
+ */
+public final class MenuState<T> {
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+    private volatile T value;
+
+    private MenuState(T value) {
+        this.value = value;
+    }
+
+    @Contract("_ -> new")
+    public static <T> @NotNull MenuState<T> of(T value) {
+        return new MenuState<>(value);
+    }
+
+    public T get() {
+        return value;
+    }
+
+    public void set(T value) {
+        if (Objects.equals(this.value, value)) {
+            return;
+        }
+        this.value = value;
+        listeners.forEach(Runnable::run);
+    }
+
+    public synchronized void update(@NotNull UnaryOperator<T> function) {
+        set(function.apply(value));
+    }
+
+    void subscribe(@NotNull Runnable listener) {
+        listeners.add(listener);
+    }
+}
\ No newline at end of file
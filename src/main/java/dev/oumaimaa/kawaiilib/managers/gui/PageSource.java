@@ -0,0 +1,46 @@
+package dev.oumaimaa.kawaiilib.managers.gui;
+
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Supplies the entries of a {@link dev.oumaimaa.kawaiilib.annotations.PaginatedMenu}, implemented by the annotated class
+ */
+public interface PageSource<T> {
+
+    /**
+     * Load one page of entries, the future may complete on any thread
+     */
+    @NotNull CompletableFuture<Page<T>> load(@NotNull Player viewer, int page, int pageSize);
+
+    /**
+     * Build the item shown for an entry, called on the main thread
+     */
+    @NotNull ItemStack render(@NotNull Player viewer, @NotNull T entry);
+
+    /**
+     * Handle a click on an entry
+     */
+    default void click(@NotNull Player viewer, @NotNull T entry, @NotNull InventoryClickEvent event) {
+    }
+
+    /**
+     * Page over an in-memory list
+     */
+    static <T> @NotNull CompletableFuture<Page<T>> slice(@NotNull List<T> entries, int page, int pageSize) {
+        int from = Math.min(page * pageSize, entries.size());
+        int to = Math.min(from + pageSize, entries.size());
+        return CompletableFuture.completedFuture(new Page<>(List.copyOf(entries.subList(from, to)), to < entries.size()));
+    }
+
+    /**
+     * Entries of one page, sources that query with {@code LIMIT pageSize + 1} know whether a next page exists
+     */
+    record Page<T>(@NotNull List<T> entries, boolean hasNext) {
+    }
+}
\ No newline at end of file
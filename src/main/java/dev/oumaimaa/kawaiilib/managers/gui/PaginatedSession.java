@@ -0,0 +1,159 @@
+package dev.oumaimaa.kawaiilib.managers.gui;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * One player browsing a paginated menu, all state is touched on the main thread only.
+ * <p>
+ * The inventory is created once and refilled on page changes. Only the current page and its
+ * neighbours are kept, and the next page is requested as soon as the current one is shown.
+ */
+final class PaginatedSession<T> {
+
+    private final Bootstrap plugin;
+    private final Player player;
+    private final PageSource<T> source;
+    private final Inventory inventory;
+    private final ItemStack previousItem;
+    private final ItemStack nextItem;
+    private final ItemStack loadingItem;
+    private final int pageSize;
+    private final int previousSlot;
+    private final int nextSlot;
+    private final Map<Integer, CompletableFuture<PageSource.Page<T>>> pages = new HashMap<>();
+
+    private int page;
+    private PageSource.Page<T> shown;
+    private boolean closed;
+
+    PaginatedSession(@NotNull Bootstrap plugin, @NotNull Player player, @NotNull PageSource<T> source,
+                     @NotNull Inventory inventory, @NotNull ItemStack previousItem,
+                     @NotNull ItemStack nextItem, @NotNull ItemStack loadingItem) {
+        this.plugin = plugin;
+        this.player = player;
+        this.source = source;
+        this.inventory = inventory;
+        this.previousItem = previousItem;
+        this.nextItem = nextItem;
+        this.loadingItem = loadingItem;
+        this.pageSize = inventory.getSize() - 9; // Bottom row holds navigation and buttons
+        this.previousSlot = pageSize;
+        this.nextSlot = inventory.getSize() - 1;
+    }
+
+    /**
+     * Whether a slot of an inventory of that size is used by the entries or the page arrows, buttons there never fire
+     */
+    static boolean isReserved(int slot, int size) {
+        int pageSize = size - 9;
+        return slot <= pageSize || slot == size - 1;
+    }
+
+    @NotNull Inventory inventory() {
+        return inventory;
+    }
+
+    void open() {
+        for (int slot = 0; slot < pageSize; slot++) {
+            inventory.setItem(slot, loadingItem.clone());
+        }
+        showPage(0, -1);
+    }
+
+    void close() {
+        closed = true;
+        pages.clear();
+    }
+
+    /**
+     * Handle a click on an entry or navigation slot, false when the slot belongs to a button
+     */
+    boolean click(int slot, @NotNull InventoryClickEvent event) {
+        if (slot < pageSize) {
+            if (shown != null && slot < shown.entries().size()) {
+                source.click(player, shown.entries().get(slot), event);
+            }
+            return true;
+        }
+
+        if (slot == previousSlot && shown != null && page > 0) {
+            showPage(page - 1, previousSlot);
+            return true;
+        }
+
+        if (slot == nextSlot && shown != null && shown.hasNext()) {
+            showPage(page + 1, nextSlot);
+            return true;
+        }
+
+        return false;
+    }
+
+    private void showPage(int target, int clickedSlot) {
+        page = target;
+        CompletableFuture<PageSource.Page<T>> future = request(target);
+
+        if (future.isDone() && !future.isCompletedExceptionally()) {
+            render(target, future.join());
+            return;
+        }
+
+        // Keep the current entries visible and mark the clicked arrow until the page arrives
+        if (clickedSlot >= 0) {
+            inventory.setItem(clickedSlot, loadingItem.clone());
+        }
+
+        future.whenComplete((result, error) -> Bukkit.getScheduler().runTask(plugin, () -> {
+            if (closed || page != target) {
+                return;
+            }
+
+            if (error != null) {
+                plugin.getLogger().severe("Failed to load page " + target + " of paginated menu: " + error.getMessage());
+                pages.remove(target);
+                render(target, new PageSource.Page<>(List.of(), false));
+                return;
+            }
+
+            render(target, result);
+        }));
+    }
+
+    private void render(int target, @NotNull PageSource.Page<T> result) {
+        shown = result;
+        List<T> entries = result.entries();
+        for (int slot = 0; slot < pageSize; slot++) {
+            inventory.setItem(slot, slot < entries.size() ? source.render(player, entries.get(slot)) : null);
+        }
+
+        inventory.setItem(previousSlot, target > 0 ? previousItem.clone() : null);
+        inventory.setItem(nextSlot, result.hasNext() ? nextItem.clone() : null);
+
+        // Keep memory bounded to the pages one click away, and warm up the next one
+        pages.keySet().removeIf(cached -> Math.abs(cached - target) > 1);
+        if (result.hasNext()) {
+            request(target + 1);
+        }
+    }
+
+    private @NotNull CompletableFuture<PageSource.Page<T>> request(int target) {
+        return pages.computeIfAbsent(target, p -> {
+            try {
+                return source.load(player, p, pageSize);
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,17 @@
+package dev.oumaimaa.kawaiilib.managers.gui;
+
+import org.bukkit.entity.Player;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A {@link dev.oumaimaa.kawaiilib.annotations.Menu} whose content is rendered from state instead of fixed button items.
+ * <p>
+ * The canvas starts with the button items, only slots whose item differs from the last render are sent to the viewer.
+ */
+public interface ReactiveMenu {
+
+    /**
+     * Draw the view of a player, shared menus render once for all viewers with any one of them
+     */
+    void render(@NotNull Player viewer, @NotNull MenuCanvas canvas);
+}
\ No newline at end of file
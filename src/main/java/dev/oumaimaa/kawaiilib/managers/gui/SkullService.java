@@ -0,0 +1,243 @@
+package dev.oumaimaa.kawaiilib.managers.gui;
+
+import com.destroystokyo.paper.profile.PlayerProfile;
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import dev.oumaimaa.kawaiilib.managers.database.KeyValueStore;
+import dev.oumaimaa.kawaiilib.utils.SkullUtils;
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Resolves player head textures by owner name without ever blocking the main thread.
+ * <p>
+ * Textures are cached in memory with LRU eviction and on disk in a {@link KeyValueStore} with a time to live,
+ * so restarts don't hit the profile API again. Concurrent lookups of the same name share one request.
+ * An expired texture is kept when the lookup fails, and names without a texture are only remembered briefly.
+ * Callers get a placeholder head right away and the textured one on the main thread once it's known.
+ */
+public final class SkullService {
+
+    private static final long MISSING_TTL_MILLIS = TimeUnit.MINUTES.toMillis(5); // Names without a texture are asked again after that
+
+    /**
+     * Blocking texture lookup, always called off the main thread
+     */
+    @FunctionalInterface
+    public interface Resolver {
+        /**
+         * @return the base64 texture value of the player, or null when the name is unknown
+         */
+        @Nullable String resolve(@NotNull String name) throws Exception;
+    }
+
+    /**
+     * Looks the profile up through the server, which checks its own user cache before asking Mojang
+     */
+    public static final Resolver PROFILE_RESOLVER = name -> {
+        PlayerProfile profile = Bukkit.createProfile(name);
+        return profile.complete(true) ? SkullUtils.getTexture(profile) : null;
+    };
+
+    private final Bootstrap plugin;
+    private final Resolver resolver;
+    private final long ttlMillis;
+    private final Map<String, Cached> memory;
+    private final Map<String, CompletableFuture<String>> pending = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final KeyValueStore disk;
+
+    public SkullService(@NotNull Bootstrap plugin, int memorySize, @NotNull Duration ttl) {
+        this(plugin, PROFILE_RESOLVER, memorySize, ttl, plugin.getDataFolder().toPath().resolve("cache").resolve("skulls"));
+    }
+
+    /**
+     * @param diskDirectory where the disk cache lives, null keeps textures in memory only
+     */
+    public SkullService(@NotNull Bootstrap plugin, @NotNull Resolver resolver, int memorySize,
+                        @NotNull Duration ttl, @Nullable Path diskDirectory) {
+        this.plugin = plugin;
+        this.resolver = resolver;
+        this.ttlMillis = ttl.toMillis();
+
+        int capacity = Math.max(1, memorySize);
+        this.memory = new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Cached> eldest) {
+                return size() > capacity;
+            }
+        };
+
+        KeyValueStore store = null;
+        if (diskDirectory != null) {
+            try {
+                store = new KeyValueStore(plugin, diskDirectory);
+            } catch (Exception e) {
+                plugin.getLogger().warning("Skull disk cache unavailable, using memory only: " + e.getMessage());
+            }
+        }
+        this.disk = store;
+    }
+
+    /**
+     * Texture of a player name, completing with null when the player doesn't exist
+     */
+    public @NotNull CompletableFuture<String> texture(@NotNull String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        Cached cached = fromMemory(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached.texture);
+        }
+
+        CompletableFuture<String> created = new CompletableFuture<>();
+        CompletableFuture<String> existing = pending.putIfAbsent(key, created);
+        if (existing != null) return existing;
+
+        executor.execute(() -> {
+            try {
+                created.complete(load(key));
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+            } finally {
+                pending.remove(key, created);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Head of a player built on the base item, or a placeholder head while the texture is still unknown.
+     * In that case {@code whenReady} gets the textured head on the main thread once it's resolved.
+     */
+    public @NotNull ItemStack head(@NotNull String name, @NotNull ItemStack base, @Nullable Consumer<ItemStack> whenReady) {
+        Cached cached = fromMemory(name.toLowerCase(Locale.ROOT));
+        if (cached != null) {
+            return cached.texture == null ? SkullUtils.asHead(base) : SkullUtils.withTexture(base, cached.texture);
+        }
+
+        if (whenReady != null) {
+            texture(name).thenAccept(texture -> {
+                if (texture != null) {
+                    runOnMainThread(() -> whenReady.accept(SkullUtils.withTexture(base, texture)));
+                }
+            });
+        } else {
+            texture(name);
+        }
+        return SkullUtils.asHead(base);
+    }
+
+    /**
+     * Put a placeholder head in the slot now and the player's head once it's resolved, unless the slot changed meanwhile
+     */
+    public void fill(@NotNull Inventory inventory, int slot, @NotNull String name, @NotNull ItemStack base) {
+        ItemStack[] placeholder = new ItemStack[1];
+        placeholder[0] = head(name, base, resolved -> {
+            ItemStack current = inventory.getItem(slot);
+            if (current != null && current.isSimilar(placeholder[0])) {
+                inventory.setItem(slot, resolved);
+            }
+        });
+        inventory.setItem(slot, placeholder[0]);
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        pending.clear();
+        if (disk != null) {
+            disk.close();
+        }
+    }
+
+    private @Nullable String load(@NotNull String key) {
+        String stale = null;
+        if (disk != null) {
+            String record = disk.getString(key);
+            int separator = record != null ? record.indexOf(':') : -1;
+            if (separator > 0) {
+                long fetchedAt = Long.parseLong(record.substring(0, separator));
+                String texture = record.substring(separator + 1);
+                if (System.currentTimeMillis() - fetchedAt < ttlMillis) {
+                    toMemory(key, texture);
+                    return texture;
+                }
+                stale = texture;
+            }
+        }
+
+        String texture;
+        try {
+            texture = resolver.resolve(key);
+        } catch (Exception e) {
+            // An expired texture is still better than a blank head while the profile API is unreachable
+            plugin.getLogger().warning("Failed to resolve skull of " + key + ": " + e.getMessage());
+            if (stale != null) {
+                toMemory(key, stale);
+            }
+            return stale;
+        }
+
+        if (texture == null) {
+            // The server's lookup can't tell an unknown name from a failed request, so keep what we had
+            if (stale != null) {
+                toMemory(key, stale);
+                return stale;
+            }
+            synchronized (memory) {
+                memory.put(key, new Cached(null, System.currentTimeMillis() + MISSING_TTL_MILLIS));
+            }
+            return null;
+        }
+
+        toMemory(key, texture);
+        if (disk != null) {
+            disk.putStringAsync(key, System.currentTimeMillis() + ":" + texture);
+        }
+        return texture;
+    }
+
+    private @Nullable Cached fromMemory(@NotNull String key) {
+        synchronized (memory) {
+            Cached cached = memory.get(key);
+            if (cached != null && cached.expiresAt <= System.currentTimeMillis()) {
+                memory.remove(key);
+                return null;
+            }
+            return cached;
+        }
+    }
+
+    private void toMemory(@NotNull String key, @NotNull String texture) {
+        synchronized (memory) {
+            memory.put(key, new Cached(texture, Long.MAX_VALUE));
+        }
+    }
+
+    private void runOnMainThread(@NotNull Runnable action) {
+        if (Bukkit.isPrimaryThread()) {
+            action.run();
+        } else if (plugin.isEnabled()) {
+            Bukkit.getScheduler().runTask(plugin, action);
+        }
+    }
+
+    /**
+     * Texture known in memory, null for a name without one
+     */
+    private record Cached(@Nullable String texture, long expiresAt) {
+    }
+}
\ No newline at end of file
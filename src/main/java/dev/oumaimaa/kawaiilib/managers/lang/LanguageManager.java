@@ -2,24 +2,51 @@ package dev.oumaimaa.kawaiilib.managers.lang;
 
 import dev.oumaimaa.kawaiilib.Bootstrap;
 import dev.oumaimaa.kawaiilib.annotations.Lang;
+import dev.oumaimaa.kawaiilib.managers.config.ConfigChangeListener;
+import dev.oumaimaa.kawaiilib.managers.config.ConfigDiff;
+import dev.oumaimaa.kawaiilib.managers.config.FileWatcher;
+import dev.oumaimaa.kawaiilib.managers.event.EventManager;
 import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.configuration.InvalidConfigurationException;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerLocaleChangeEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.jetbrains.annotations.Contract;
 import org.jetbrains.annotations.NotNull;
 import org.reflections.Reflections;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 public final class LanguageManager {
 
     private final Bootstrap plugin;
     private final Map<String, YamlConfiguration> languages = new ConcurrentHashMap<>();
+    private final Map<String, MessageKey> keys = new ConcurrentHashMap<>();
+    private final List<MessageKey> keysById = new ArrayList<>();
+    private final Set<String> unknownKeys = ConcurrentHashMap.newKeySet();
+    private volatile Map<String, MessageTable> tables = Map.of();
     private final Map<UUID, String> playerLanguages = new ConcurrentHashMap<>();
+    private final Set<UUID> chosenLanguages = ConcurrentHashMap.newKeySet();
+    private final List<ConfigChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private File langFolder;
     private String defaultLanguage = "en";
 
     public LanguageManager(Bootstrap plugin) {
@@ -34,7 +61,7 @@ public final class LanguageManager {
         }
 
         Lang ann = langClasses.iterator().next().getAnnotation(Lang.class);
-        File langFolder = new File(plugin.getDataFolder(), ann.folder());
+        langFolder = new File(plugin.getDataFolder(), ann.folder());
 
         if (!langFolder.exists()) {
             langFolder.mkdirs();
@@ -45,7 +72,7 @@ public final class LanguageManager {
         if (files != null) {
             for (File file : files) {
                 String langCode = file.getName().replace(".yml", "");
-                YamlConfiguration yaml = YamlConfiguration.loadConfiguration(file);
+                YamlConfiguration yaml = plugin.getConfigManager().getSnapshotCache().load(file);
                 languages.put(langCode, yaml);
                 plugin.getLogger().info("Loaded language: " + langCode);
             }
@@ -54,6 +81,141 @@ public final class LanguageManager {
         if (!languages.containsKey("en")) {
             plugin.getLogger().warning("No English language file found, using defaults");
         }
+
+        rebuildTables();
+
+        // Set the language before other join handlers send messages, clients report locale changes later
+        EventManager eventManager = plugin.getEventManager();
+        eventManager.registerHandler(PlayerJoinEvent.class, EventPriority.LOWEST, false,
+                event -> detectLanguage(event.getPlayer(), event.getPlayer().locale()));
+        eventManager.registerHandler(PlayerLocaleChangeEvent.class, EventPriority.MONITOR, false,
+                event -> detectLanguage(event.getPlayer(), event.locale()));
+        eventManager.registerHandler(PlayerQuitEvent.class, EventPriority.MONITOR, false, event -> {
+            playerLanguages.remove(event.getPlayer().getUniqueId());
+            chosenLanguages.remove(event.getPlayer().getUniqueId());
+        });
+    }
+
+    private void detectLanguage(@NotNull Player player, @NotNull Locale locale) {
+        if (chosenLanguages.contains(player.getUniqueId())) {
+            return; // An explicit choice wins over the client locale
+        }
+
+        playerLanguages.put(player.getUniqueId(), resolveLanguage(locale.toString().toLowerCase(Locale.ROOT)));
+    }
+
+    /**
+     * Map a client locale such as {@code pt_br} to the closest loaded language
+     */
+    public @NotNull String resolveLanguage(@NotNull String locale) {
+        for (String language : fallbackChain(locale)) {
+            if (languages.containsKey(language)) {
+                return language;
+            }
+        }
+        return defaultLanguage;
+    }
+
+    /**
+     * Resolve a message path into its handle, interning it if no language defines it yet
+     */
+    public @NotNull MessageKey key(@NotNull String path) {
+        MessageKey key = keys.get(path);
+        if (key != null) {
+            return key;
+        }
+
+        synchronized (keysById) {
+            return keys.computeIfAbsent(path, p -> {
+                MessageKey created = new MessageKey(keysById.size(), p);
+                keysById.add(created);
+                return created;
+            });
+        }
+    }
+
+    /**
+     * Flatten every language into a message array indexed by key id, filling gaps from the fallback chain
+     */
+    private synchronized void rebuildTables() {
+        Map<String, String[]> ownMessages = new HashMap<>();
+        for (Map.Entry<String, YamlConfiguration> entry : languages.entrySet()) {
+            YamlConfiguration yaml = entry.getValue();
+            Map<Integer, String> flattened = new HashMap<>();
+            for (String path : yaml.getKeys(true)) {
+                String message = yaml.isConfigurationSection(path) ? null : yaml.getString(path);
+                if (message != null) {
+                    flattened.put(key(path).id(), message);
+                }
+            }
+
+            String[] messages = new String[keysById.size()];
+            flattened.forEach((id, message) -> messages[id] = message);
+            ownMessages.put(entry.getKey(), messages);
+        }
+
+        int size;
+        List<MessageKey> snapshot;
+        synchronized (keysById) {
+            size = keysById.size();
+            snapshot = List.copyOf(keysById);
+        }
+
+        boolean[] defined = new boolean[size];
+        for (String[] messages : ownMessages.values()) {
+            for (int id = 0; id < messages.length; id++) {
+                defined[id] |= messages[id] != null;
+            }
+        }
+
+        Map<String, MessageTable> rebuilt = new HashMap<>();
+        for (String language : ownMessages.keySet()) {
+            List<String[]> chain = new ArrayList<>();
+            for (String fallback : fallbackChain(language)) {
+                String[] messages = ownMessages.get(fallback);
+                if (messages != null) {
+                    chain.add(messages);
+                }
+            }
+
+            String[] resolved = new String[size];
+            Set<String> missing = new HashSet<>();
+            for (int id = 0; id < size; id++) {
+                for (int i = 0; i < chain.size() && resolved[id] == null; i++) {
+                    String[] messages = chain.get(i);
+                    if (id < messages.length) {
+                        resolved[id] = messages[id];
+                    }
+                }
+
+                String[] own = chain.getFirst();
+                if (defined[id] && (id >= own.length || own[id] == null)) {
+                    missing.add(snapshot.get(id).path());
+                }
+            }
+
+            rebuilt.put(language, new MessageTable(language, resolved, Set.copyOf(missing)));
+        }
+
+        tables = Map.copyOf(rebuilt);
+        unknownKeys.removeIf(keys::containsKey);
+    }
+
+    /**
+     * A language, its base language for regional variants like {@code pt_br}, then the default language
+     */
+    private @NotNull List<String> fallbackChain(@NotNull String language) {
+        List<String> chain = new ArrayList<>(3);
+        chain.add(language);
+
+        int separator = language.indexOf('_');
+        if (separator > 0) {
+            chain.add(language.substring(0, separator));
+        }
+        if (!chain.contains(defaultLanguage)) {
+            chain.add(defaultLanguage);
+        }
+        return chain;
     }
 
     private void createDefaultLanguageFile(@NotNull File langFolder) {
@@ -74,28 +236,137 @@ public final class LanguageManager {
         }
     }
 
+    /**
+     * Listen for message keys that change through hot reload, the source is the language code
+     */
+    public void addChangeListener(@NotNull ConfigChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Reload language files automatically when they are edited on disk
+     */
+    public void watch(@NotNull FileWatcher watcher) {
+        if (langFolder != null) {
+            watcher.watch(langFolder.toPath(), this::onFilesChanged);
+        }
+    }
+
+    private void onFilesChanged(@NotNull Set<Path> files) {
+        // Parse every changed file here, then diff and swap them all in one main thread task
+        Map<String, YamlConfiguration> loaded = new LinkedHashMap<>();
+
+        for (Path path : files) {
+            String fileName = path.getFileName().toString();
+            if (!fileName.endsWith(".yml")) continue;
+
+            String langCode = fileName.replace(".yml", "");
+            YamlConfiguration newYaml = new YamlConfiguration();
+            try {
+                newYaml.load(path.toFile());
+            } catch (IOException | InvalidConfigurationException e) {
+                plugin.getLogger().warning("Skipped reload of language " + langCode + ": " + e.getMessage());
+                continue;
+            }
+
+            loaded.put(langCode, newYaml);
+        }
+
+        if (!loaded.isEmpty()) {
+            Bukkit.getScheduler().runTask(plugin, () -> loaded.forEach(this::applyReload));
+        }
+    }
+
+    private void applyReload(@NotNull String langCode, @NotNull YamlConfiguration newYaml) {
+        YamlConfiguration oldYaml = languages.getOrDefault(langCode, new YamlConfiguration());
+        Map<String, ConfigDiff.Change> changes = ConfigDiff.diff(oldYaml, newYaml);
+        if (changes.isEmpty()) return;
+
+        languages.put(langCode, newYaml);
+        rebuildTables();
+
+        changes.forEach((key, change) -> {
+            for (ConfigChangeListener listener : listeners) {
+                try {
+                    listener.onChange(langCode, key, change.oldValue(), change.newValue());
+                } catch (Exception e) {
+                    plugin.getLogger().severe("Error in language change listener for " + key + ": " + e.getMessage());
+                    e.printStackTrace();
+                }
+            }
+        });
+
+        plugin.getLogger().info("Hot reloaded " + changes.size() + " key(s) in language: " + langCode);
+    }
+
     public String getMessage(@NotNull String key, String language) {
-        YamlConfiguration yaml = languages.getOrDefault(language, languages.get(defaultLanguage));
-        if (yaml == null) {
+        MessageKey messageKey = keys.get(key);
+        if (messageKey == null) {
+            unknownKeys.add(key);
             return key;
         }
 
-        return yaml.getString(key, key);
+        return getMessage(messageKey, language);
+    }
+
+    public @NotNull String getMessage(@NotNull MessageKey key, String language) {
+        MessageTable table = getTable(language);
+        String message = table != null ? table.message(key) : null;
+        if (message == null) {
+            unknownKeys.add(key.path());
+            return key.path();
+        }
+
+        return message;
     }
 
     public @NotNull Component getComponent(@NotNull String key, String language, Object @NotNull ... replacements) {
-        String message = getMessage(key, language);
-
-        // Apply replacements
-        for (int i = 0; i < replacements.length; i += 2) {
-            if (i + 1 < replacements.length) {
-                String placeholder = replacements[i].toString();
-                String value = replacements[i + 1].toString();
-                message = message.replace(placeholder, value);
-            }
+        MessageKey messageKey = keys.get(key);
+        if (messageKey == null) {
+            unknownKeys.add(key);
+            return MessageTemplate.compile(plugin.getMiniMessage(), key).render(replacements);
+        }
+
+        return getComponent(messageKey, language, replacements);
+    }
+
+    public @NotNull Component getComponent(@NotNull MessageKey key, String language, Object @NotNull ... replacements) {
+        return getTemplate(key, language).render(replacements);
+    }
+
+    /**
+     * Get the parsed template of a message, compiled on first use and kept until its language reloads
+     */
+    public @NotNull MessageTemplate getTemplate(@NotNull MessageKey key, String language) {
+        MessageTable table = getTable(language);
+        MessageTemplate template = table != null ? table.template(plugin.getMiniMessage(), key) : null;
+        if (template == null) {
+            unknownKeys.add(key.path());
+            return MessageTemplate.compile(plugin.getMiniMessage(), key.path());
         }
 
-        return plugin.formatText(message);
+        return template;
+    }
+
+    private MessageTable getTable(String language) {
+        Map<String, MessageTable> current = tables;
+        MessageTable table = language != null ? current.get(language) : null;
+        return table != null ? table : current.get(defaultLanguage);
+    }
+
+    /**
+     * Keys other languages define that the given language falls back for
+     */
+    public @NotNull Set<String> getMissingKeys(@NotNull String language) {
+        MessageTable table = tables.get(language);
+        return table != null ? table.missingKeys() : Set.of();
+    }
+
+    /**
+     * Keys that were requested but aren't defined by any language
+     */
+    public @NotNull Set<String> getUnknownKeys() {
+        return Set.copyOf(unknownKeys);
     }
 
     public @NotNull Component getPlayerMessage(@NotNull Player player, @NotNull String key, Object... replacements) {
@@ -103,9 +374,38 @@ public final class LanguageManager {
         return getComponent(key, language, replacements);
     }
 
+    public @NotNull Component getPlayerMessage(@NotNull Player player, @NotNull MessageKey key, Object... replacements) {
+        String language = playerLanguages.getOrDefault(player.getUniqueId(), defaultLanguage);
+        return getComponent(key, language, replacements);
+    }
+
+    /**
+     * Send a message to every online player and the console, rendered once per language
+     */
+    public void broadcast(@NotNull MessageKey key, Object... replacements) {
+        broadcast(Bukkit.getOnlinePlayers(), key, replacements);
+        Bukkit.getConsoleSender().sendMessage(getComponent(key, defaultLanguage, replacements));
+    }
+
+    public void broadcast(@NotNull String key, Object... replacements) {
+        broadcast(key(key), replacements);
+    }
+
+    /**
+     * Send a message to the given players, recipients sharing a language receive the same component
+     */
+    public void broadcast(@NotNull Collection<? extends Player> players, @NotNull MessageKey key, Object... replacements) {
+        Map<String, Component> rendered = new HashMap<>();
+        for (Player player : players) {
+            String language = playerLanguages.getOrDefault(player.getUniqueId(), defaultLanguage);
+            player.sendMessage(rendered.computeIfAbsent(language, lang -> getComponent(key, lang, replacements)));
+        }
+    }
+
     public void setPlayerLanguage(@NotNull Player player, String language) {
         if (languages.containsKey(language)) {
             playerLanguages.put(player.getUniqueId(), language);
+            chosenLanguages.add(player.getUniqueId());
         }
     }
 
@@ -121,6 +421,7 @@ public final class LanguageManager {
     public void setDefaultLanguage(String language) {
         if (languages.containsKey(language)) {
             this.defaultLanguage = language;
+            rebuildTables();
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package dev.oumaimaa.kawaiilib.managers.lang;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Interned handle of a message path, resolve it once with {@link LanguageManager#key(String)} and keep it
+ * in a constant so lookups index straight into the locale tables.
+ */
+public final class MessageKey {
+
+    private final int id;
+    private final String path;
+
+    MessageKey(int id, @NotNull String path) {
+        this.id = id;
+        this.path = path;
+    }
+
+    int id() {
+        return id;
+    }
+
+    public @NotNull String path() {
+        return path;
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,58 @@
+package dev.oumaimaa.kawaiilib.managers.lang;
+
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Set;
+
+/**
+ * Messages of one locale flattened into an array indexed by {@link MessageKey} id, fallbacks already applied
+ */
+final class MessageTable {
+
+    private final String language;
+    private final String[] messages;
+    private final MessageTemplate[] templates;
+    private final Set<String> missingKeys;
+
+    MessageTable(@NotNull String language, @NotNull String[] messages, @NotNull Set<String> missingKeys) {
+        this.language = language;
+        this.messages = messages;
+        this.templates = new MessageTemplate[messages.length];
+        this.missingKeys = missingKeys;
+    }
+
+    @NotNull String language() {
+        return language;
+    }
+
+    @Nullable String message(@NotNull MessageKey key) {
+        int id = key.id();
+        return id < messages.length ? messages[id] : null;
+    }
+
+    /**
+     * Templates are immutable, so racing threads at worst compile the same one twice
+     */
+    @Nullable MessageTemplate template(@NotNull MiniMessage miniMessage, @NotNull MessageKey key) {
+        int id = key.id();
+        if (id >= messages.length || messages[id] == null) {
+            return null;
+        }
+
+        MessageTemplate template = templates[id];
+        if (template == null) {
+            template = MessageTemplate.compile(miniMessage, messages[id]);
+            templates[id] = template;
+        }
+        return template;
+    }
+
+    /**
+     * Keys other locales define that this one takes from its fallback chain
+     */
+    @NotNull Set<String> missingKeys() {
+        return missingKeys;
+    }
+}
\ No newline at end of file
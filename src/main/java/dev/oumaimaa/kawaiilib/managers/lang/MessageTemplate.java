@@ -0,0 +1,208 @@
+package dev.oumaimaa.kawaiilib.managers.lang;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.minimessage.tag.Tag;
+import net.kyori.adventure.text.minimessage.tag.resolver.TagResolver;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A language entry parsed once into a component tree with typed placeholder slots.
+ * <p>
+ * Placeholders written as {@code %name%} or {@code {name}} become slots that rendering fills with
+ * the given values, without parsing MiniMessage again. String values are inserted as plain text and
+ * {@link Component} values as they are. Messages using placeholders inside tag arguments or inside
+ * tags that restyle their content character by character (gradients, rainbows, transitions), and
+ * placeholders the message doesn't declare, fall back to replacing text and parsing per render.
+ */
+public final class MessageTemplate {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("%[A-Za-z0-9_.-]+%|\\{[A-Za-z0-9_.-]+}");
+    private static final Pattern CHARACTER_TAGS = Pattern.compile("<(gradient|rainbow|transition)", Pattern.CASE_INSENSITIVE);
+    private static final String SLOT_TAG = "kawaii_slot";
+    // Slots are marked by style rather than text, so no message content can be mistaken for one
+    private static final String SLOT_INSERTION = "kawaii:slot:";
+
+    private final MiniMessage miniMessage;
+    private final String source;
+    private final Component component;
+    private final Map<String, Integer> slots;
+    private final Component[] defaults;
+    private final int[] occurrences;
+
+    private MessageTemplate(MiniMessage miniMessage, String source, Component component,
+                            Map<String, Integer> slots, Component[] defaults, int[] occurrences) {
+        this.miniMessage = miniMessage;
+        this.source = source;
+        this.component = component;
+        this.slots = slots;
+        this.defaults = defaults;
+        this.occurrences = occurrences;
+    }
+
+    /**
+     * Parse a message into a template
+     */
+    public static @NotNull MessageTemplate compile(@NotNull MiniMessage miniMessage, @NotNull String message) {
+        Matcher matcher = PLACEHOLDER.matcher(message);
+        if (!matcher.find()) {
+            return new MessageTemplate(miniMessage, message, miniMessage.deserialize(message), Map.of(), new Component[0], new int[0]);
+        }
+
+        if (CHARACTER_TAGS.matcher(message).find()) {
+            return new MessageTemplate(miniMessage, message, null, Map.of(), new Component[0], new int[0]);
+        }
+
+        Map<String, Integer> slots = new HashMap<>();
+        List<Component> defaults = new ArrayList<>();
+        List<Integer> occurrences = new ArrayList<>();
+        StringBuilder transformed = new StringBuilder(message.length() + 32);
+        int last = 0;
+
+        do {
+            if (isInsideTag(message, matcher.start())) {
+                return new MessageTemplate(miniMessage, message, null, Map.of(), new Component[0], new int[0]);
+            }
+
+            String token = matcher.group();
+            Integer slot = slots.get(token);
+            if (slot == null) {
+                slot = defaults.size();
+                slots.put(token, slot);
+                defaults.add(Component.text(token)); // Unfilled placeholders stay visible, like before
+            }
+
+            // Every occurrence gets its own marker, so compaction can't merge two adjacent ones
+            transformed.append(message, last, matcher.start())
+                    .append('<').append(SLOT_TAG).append(':').append(occurrences.size()).append('>');
+            occurrences.add(slot);
+            last = matcher.end();
+        } while (matcher.find());
+        transformed.append(message, last, message.length());
+
+        TagResolver slotResolver = TagResolver.resolver(SLOT_TAG, (arguments, context) -> {
+            int occurrence = arguments.popOr("slot occurrence").asInt().orElse(-1);
+            if (occurrence < 0 || occurrence >= occurrences.size()) {
+                throw context.newException("Unknown slot occurrence");
+            }
+            return Tag.selfClosingInserting(defaults.get(occurrences.get(occurrence)).insertion(SLOT_INSERTION + occurrence));
+        });
+
+        Component parsed = miniMessage.deserialize(transformed.toString(), slotResolver);
+        return new MessageTemplate(miniMessage, message, parsed, Map.copyOf(slots),
+                defaults.toArray(Component[]::new), occurrences.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    /**
+     * Render the message with {@code placeholder, value} pairs
+     */
+    public @NotNull Component render(Object @NotNull ... replacements) {
+        if (component == null) {
+            return renderDynamic(replacements);
+        }
+        if (replacements.length < 2) {
+            return defaults.length == 0 ? component : fill(component, defaults);
+        }
+
+        Component[] values = defaults.clone();
+        for (int i = 0; i + 1 < replacements.length; i += 2) {
+            Integer slot = slots.get(replacements[i].toString());
+            if (slot == null) {
+                return renderDynamic(replacements);
+            }
+
+            Object value = replacements[i + 1];
+            values[slot] = value instanceof Component valueComponent
+                    ? valueComponent
+                    : Component.text(String.valueOf(value));
+        }
+
+        return fill(component, values);
+    }
+
+    /**
+     * The raw message this template was parsed from
+     */
+    public @NotNull String getSource() {
+        return source;
+    }
+
+    private @NotNull Component renderDynamic(Object @NotNull [] replacements) {
+        String message = source;
+        for (int i = 0; i + 1 < replacements.length; i += 2) {
+            Object value = replacements[i + 1];
+            // Plain values are escaped so player input can't inject tags, components already are MiniMessage
+            String text = value instanceof Component valueComponent
+                    ? miniMessage.serialize(valueComponent)
+                    : miniMessage.escapeTags(String.valueOf(value));
+            message = message.replace(replacements[i].toString(), text);
+        }
+        return miniMessage.deserialize(message);
+    }
+
+    private static boolean isInsideTag(@NotNull String message, int index) {
+        int open = message.lastIndexOf('<', index);
+        return open != -1 && message.lastIndexOf('>', index) < open;
+    }
+
+    /**
+     * Slot index of a slot marker, or -1 for any other component
+     */
+    private int slotOf(@NotNull Component component) {
+        String insertion = component.insertion();
+        if (insertion == null || !insertion.startsWith(SLOT_INSERTION) || !component.children().isEmpty()
+                || !(component instanceof TextComponent text)) {
+            return -1;
+        }
+
+        int occurrence;
+        try {
+            occurrence = Integer.parseInt(insertion, SLOT_INSERTION.length(), insertion.length(), 10);
+        } catch (NumberFormatException e) {
+            return -1; // An <insert:...> tag of the message that happens to look like a marker
+        }
+        if (occurrence < 0 || occurrence >= occurrences.length) {
+            return -1;
+        }
+
+        int slot = occurrences[occurrence];
+        return text.content().equals(((TextComponent) defaults[slot]).content()) ? slot : -1;
+    }
+
+    private @NotNull Component fill(@NotNull Component component, @NotNull Component @NotNull [] values) {
+        int slot = slotOf(component);
+        if (slot != -1) {
+            Component value = values[slot];
+            Style style = component.style().insertion(null);
+            return style.isEmpty() ? value : value.applyFallbackStyle(style);
+        }
+
+        List<Component> children = component.children();
+        if (children.isEmpty()) {
+            return component;
+        }
+
+        List<Component> filled = null;
+        for (int i = 0; i < children.size(); i++) {
+            Component child = children.get(i);
+            Component replaced = fill(child, values);
+            if (replaced != child) {
+                if (filled == null) {
+                    filled = new ArrayList<>(children);
+                }
+                filled.set(i, replaced);
+            }
+        }
+
+        return filled != null ? component.children(filled) : component;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package dev.oumaimaa.kawaiilib.managers.player;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Typed handle of a registered player data set
+ */
+public record PlayerDataKey<T>(@NotNull String id, @NotNull Class<T> type) {
+}
\ No newline at end of file
@@ -0,0 +1,30 @@
+package dev.oumaimaa.kawaiilib.managers.player;
+
+import dev.oumaimaa.kawaiilib.managers.database.DatabaseManager;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Loads and stores one data set of a player session through the {@link DatabaseManager}
+ */
+public interface PlayerDataLoader<T> {
+
+    /**
+     * Load the data set for a player, completing with null when the player has no data yet
+     */
+    @NotNull CompletableFuture<T> load(@NotNull DatabaseManager database, @NotNull UUID uuid);
+
+    /**
+     * Persist the data set for a player
+     */
+    @NotNull CompletableFuture<Void> save(@NotNull DatabaseManager database, @NotNull UUID uuid, @NotNull T data);
+
+    /**
+     * Value used when the player has no stored data
+     */
+    default T createDefault(@NotNull UUID uuid) {
+        return null;
+    }
+}
\ No newline at end of file
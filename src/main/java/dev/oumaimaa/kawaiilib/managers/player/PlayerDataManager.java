@@ -0,0 +1,220 @@
+package dev.oumaimaa.kawaiilib.managers.player;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import dev.oumaimaa.kawaiilib.managers.database.DatabaseManager;
+import dev.oumaimaa.kawaiilib.managers.event.EventManager;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.AsyncPlayerPreLoginEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Preloads registered player data sets before login and keeps them in memory while the player is online
+ */
+public final class PlayerDataManager {
+
+    private static final long PRELOAD_TIMEOUT_SECONDS = 10;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 30;
+
+    private final Bootstrap plugin;
+    private final DatabaseManager database;
+    private final Map<String, DataSet<?>> dataSets = new ConcurrentHashMap<>();
+    private final Map<UUID, PlayerSession> sessions = new ConcurrentHashMap<>();
+    private volatile long gracePeriodTicks = 20L * 30;
+
+    public PlayerDataManager(Bootstrap plugin, DatabaseManager database, @NotNull EventManager eventManager) {
+        this.plugin = plugin;
+        this.database = database;
+
+        // Load late so other plugins can deny the login before we touch the database
+        eventManager.registerHandler(AsyncPlayerPreLoginEvent.class, EventPriority.HIGHEST, false, this::onPreLogin);
+        eventManager.registerHandler(AsyncPlayerPreLoginEvent.class, EventPriority.MONITOR, false, this::onPreLoginResult);
+        eventManager.registerHandler(PlayerQuitEvent.class, EventPriority.MONITOR, false, this::onQuit);
+    }
+
+    /**
+     * Register a data set that is preloaded for every joining player
+     */
+    @Contract("_, _, _ -> new")
+    public <T> @NotNull PlayerDataKey<T> register(@NotNull String id,
+                                                  @NotNull Class<T> type,
+                                                  @NotNull PlayerDataLoader<T> loader) {
+        PlayerDataKey<T> key = new PlayerDataKey<>(id, type);
+        if (dataSets.putIfAbsent(id, new DataSet<>(key, loader)) != null) {
+            throw new IllegalArgumentException("Player data set already registered: " + id);
+        }
+
+        plugin.getLogger().info("Registered player data set: " + id);
+        return key;
+    }
+
+    /**
+     * Set how long a session is kept after quit so quick rejoins skip the database
+     */
+    public void setGracePeriodTicks(long ticks) {
+        this.gracePeriodTicks = Math.max(0, ticks);
+    }
+
+    public @Nullable PlayerSession getSession(@NotNull UUID uuid) {
+        return sessions.get(uuid);
+    }
+
+    public boolean isLoaded(@NotNull UUID uuid) {
+        return sessions.containsKey(uuid);
+    }
+
+    public <T> @Nullable T get(@NotNull Player player, @NotNull PlayerDataKey<T> key) {
+        return get(player.getUniqueId(), key);
+    }
+
+    public <T> @Nullable T get(@NotNull UUID uuid, @NotNull PlayerDataKey<T> key) {
+        PlayerSession session = sessions.get(uuid);
+        return session != null ? session.get(key) : null;
+    }
+
+    public <T> void set(@NotNull Player player, @NotNull PlayerDataKey<T> key, @Nullable T value) {
+        PlayerSession session = sessions.get(player.getUniqueId());
+        if (session == null) {
+            throw new IllegalStateException("No data session for player: " + player.getName());
+        }
+        session.set(key, value);
+    }
+
+    /**
+     * Persist all data sets of an online player without evicting them
+     */
+    public @NotNull CompletableFuture<Void> saveAsync(@NotNull UUID uuid) {
+        PlayerSession session = sessions.get(uuid);
+        return session != null ? flush(session) : CompletableFuture.completedFuture(null);
+    }
+
+    private void onPreLogin(@NotNull AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() != AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        UUID uuid = event.getUniqueId();
+
+        PlayerSession session = new PlayerSession(uuid);
+        try {
+            // Rejoined within the grace period, the cached data is still authoritative
+            PlayerSession existing = sessions.get(uuid);
+            if (existing != null) {
+                if (existing.reactivate()) return;
+
+                // Caught in the middle of its eviction, load again once its last save is done
+                CompletableFuture<Void> eviction = existing.eviction();
+                if (eviction != null) {
+                    eviction.get(PRELOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                }
+            }
+
+            load(session).get(PRELOAD_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            sessions.put(uuid, session);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to preload data for " + event.getName() + ": " + e.getMessage());
+            event.disallow(AsyncPlayerPreLoginEvent.Result.KICK_OTHER,
+                    plugin.formatText("<red>Your player data could not be loaded, please try again."));
+        }
+    }
+
+    private void onPreLoginResult(@NotNull AsyncPlayerPreLoginEvent event) {
+        if (event.getLoginResult() == AsyncPlayerPreLoginEvent.Result.ALLOWED) return;
+
+        // Denied after we loaded, release the session like a regular quit
+        PlayerSession session = sessions.get(event.getUniqueId());
+        if (session != null) {
+            scheduleEviction(session);
+        }
+    }
+
+    private void onQuit(@NotNull PlayerQuitEvent event) {
+        PlayerSession session = sessions.get(event.getPlayer().getUniqueId());
+        if (session == null) return;
+
+        flush(session);
+        scheduleEviction(session);
+    }
+
+    private void scheduleEviction(@NotNull PlayerSession session) {
+        UUID uuid = session.getUniqueId();
+        session.scheduleEviction(Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, () -> {
+            CompletableFuture<Void> evicted = new CompletableFuture<>();
+            if (!session.beginEviction(evicted)) return; // Rejoined before the task got here
+
+            // Data may have changed since the quit flush, it would be lost with the session
+            flush(session).whenComplete((ignored, error) -> {
+                sessions.remove(uuid, session);
+                evicted.complete(null);
+            });
+        }, gracePeriodTicks));
+    }
+
+    private @NotNull CompletableFuture<Void> load(@NotNull PlayerSession session) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(dataSets.size());
+        for (DataSet<?> dataSet : dataSets.values()) {
+            futures.add(dataSet.load(database, session));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    private @NotNull CompletableFuture<Void> flush(@NotNull PlayerSession session) {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(dataSets.size());
+        for (DataSet<?> dataSet : dataSets.values()) {
+            futures.add(dataSet.save(database, session).exceptionally(e -> {
+                plugin.getLogger().severe("Failed to save player data '" + dataSet.key.id() +
+                        "' for " + session.getUniqueId() + ": " + e.getMessage());
+                return null;
+            }));
+        }
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Flush every session and clear the store, blocking until writes finish
+     */
+    public void shutdown() {
+        List<CompletableFuture<Void>> futures = new ArrayList<>(sessions.size());
+        for (PlayerSession session : sessions.values()) {
+            session.cancelEviction();
+            futures.add(flush(session));
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                    .get(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            plugin.getLogger().severe("Failed to flush player data on shutdown: " + e.getMessage());
+        }
+
+        sessions.clear();
+        plugin.getLogger().info("Player data sessions flushed");
+    }
+
+    private record DataSet<T>(PlayerDataKey<T> key, PlayerDataLoader<T> loader) {
+
+        CompletableFuture<Void> load(DatabaseManager database, PlayerSession session) {
+            UUID uuid = session.getUniqueId();
+            return loader.load(database, uuid).thenAccept(value ->
+                    session.set(key, value != null ? value : loader.createDefault(uuid)));
+        }
+
+        CompletableFuture<Void> save(DatabaseManager database, PlayerSession session) {
+            T value = session.get(key);
+            if (value == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return loader.save(database, session.getUniqueId(), value);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package dev.oumaimaa.kawaiilib.managers.player;
+
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Preloaded data of a single player, kept while the player is online and for a short grace period after quit
+ */
+public final class PlayerSession {
+
+    private final UUID uuid;
+    private final Map<String, Object> data = new ConcurrentHashMap<>();
+    private volatile BukkitTask evictionTask;
+    private boolean active = true; // Guarded by this, false from quit until the player rejoins
+    private CompletableFuture<Void> eviction; // Guarded by this, set once the session is being evicted
+
+    PlayerSession(UUID uuid) {
+        this.uuid = uuid;
+    }
+
+    public @NotNull UUID getUniqueId() {
+        return uuid;
+    }
+
+    public <T> @Nullable T get(@NotNull PlayerDataKey<T> key) {
+        return key.type().cast(data.get(key.id()));
+    }
+
+    public <T> void set(@NotNull PlayerDataKey<T> key, @Nullable T value) {
+        if (value == null) {
+            data.remove(key.id());
+        } else {
+            data.put(key.id(), value);
+        }
+    }
+
+    synchronized void scheduleEviction(BukkitTask task) {
+        cancelEviction();
+        this.active = false;
+        this.evictionTask = task;
+    }
+
+    /**
+     * Hand the session back to a rejoining player, false when it's already being evicted
+     */
+    synchronized boolean reactivate() {
+        if (eviction != null) return false;
+
+        cancelEviction();
+        active = true;
+        return true;
+    }
+
+    /**
+     * Claim the session for eviction, false when its player came back meanwhile
+     */
+    synchronized boolean beginEviction(@NotNull CompletableFuture<Void> done) {
+        if (active || eviction != null) return false;
+
+        eviction = done;
+        return true;
+    }
+
+    /**
+     * Completes once an eviction in progress has saved the session, null when none is running
+     */
+    synchronized @Nullable CompletableFuture<Void> eviction() {
+        return eviction;
+    }
+
+    synchronized boolean cancelEviction() {
+        BukkitTask task = evictionTask;
+        evictionTask = null;
+        if (task != null) {
+            task.cancel();
+            return true;
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -6,31 +6,51 @@ import com.google.gson.JsonParser;
 import dev.oumaimaa.kawaiilib.Bootstrap;
 import dev.oumaimaa.kawaiilib.annotations.AutoUpdate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
 
 public final class UpdateChecker {
 
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_DOWNLOAD_ATTEMPTS = 3;
+
     private final Bootstrap plugin;
     private final AutoUpdate config;
+    private final ExecutorService executor;
     private final HttpClient httpClient;
-    private String latestVersion;
-    private String downloadUrl;
+    private final AtomicReference<CompletableFuture<Boolean>> downloading = new AtomicReference<>();
+    private volatile Release latest;
 
     public UpdateChecker(Bootstrap plugin, AutoUpdate config) {
         this.plugin = plugin;
         this.config = config;
+        // Blocking I/O runs on virtual threads instead of tying up the common pool
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
         this.httpClient = HttpClient.newBuilder()
                 .version(HttpClient.Version.HTTP_2)
                 .followRedirects(HttpClient.Redirect.NORMAL)
+                .executor(executor)
                 .build();
     }
 
@@ -40,12 +60,13 @@ public final class UpdateChecker {
                 String currentVersion = plugin.getDescription().getVersion();
                 fetchLatestVersion();
 
-                if (latestVersion != null && !latestVersion.equals(currentVersion)) {
-                    plugin.getLogger().info("New version available: " + latestVersion +
+                Release release = latest;
+                if (release != null && !release.version().equals(currentVersion)) {
+                    plugin.getLogger().info("New version available: " + release.version() +
                             " (Current: " + currentVersion + ")");
 
                     if (config.autoDownload()) {
-                        downloadUpdate().join();
+                        downloadUpdate(release).join();
                     }
 
                     return true;
@@ -58,19 +79,24 @@ public final class UpdateChecker {
                 plugin.getLogger().warning("Failed to check for updates: " + e.getMessage());
                 return false;
             }
-        });
+        }, executor);
     }
 
     private void fetchLatestVersion() throws Exception {
-        switch (config.platform().toUpperCase()) {
+        Release release = switch (config.platform().toUpperCase()) {
             case "SPIGOT" -> fetchSpigotVersion();
             case "HANGAR" -> fetchHangarVersion();
             case "MODRINTH" -> fetchModrinthVersion();
             default -> throw new IllegalArgumentException("Unknown platform: " + config.platform());
+        };
+
+        // Published as a whole, a download running meanwhile never mixes the URL of one release with the hash of another
+        if (release != null) {
+            latest = release;
         }
     }
 
-    private void fetchSpigotVersion() throws Exception {
+    private @Nullable Release fetchSpigotVersion() throws Exception {
         String url = "https://api.spiget.org/v2/resources/" + config.resourceId() + "/versions/latest";
 
         HttpRequest request = HttpRequest.newBuilder()
@@ -83,12 +109,13 @@ public final class UpdateChecker {
 
         if (response.statusCode() == 200) {
             JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
-            latestVersion = json.get("name").getAsString();
-            downloadUrl = "https://api.spiget.org/v2/resources/" + config.resourceId() + "/download";
+            return new Release(json.get("name").getAsString(),
+                    "https://api.spiget.org/v2/resources/" + config.resourceId() + "/download", null, null);
         }
+        return null;
     }
 
-    private void fetchHangarVersion() throws Exception {
+    private @Nullable Release fetchHangarVersion() throws Exception {
         String url = "https://hangar.papermc.io/api/v1/projects/" + config.resourceId() + "/versions";
 
         HttpRequest request = HttpRequest.newBuilder()
@@ -104,19 +131,27 @@ public final class UpdateChecker {
             JsonArray versions = json.getAsJsonArray("result");
 
             if (!versions.isEmpty()) {
-                JsonObject latest = versions.get(0).getAsJsonObject();
-                latestVersion = latest.get("name").getAsString();
+                JsonObject version = versions.get(0).getAsJsonObject();
+                String name = version.get("name").getAsString();
 
-                JsonObject downloads = latest.getAsJsonObject("downloads");
+                JsonObject downloads = version.getAsJsonObject("downloads");
                 if (downloads.has("PAPER")) {
                     JsonObject paperDownload = downloads.getAsJsonObject("PAPER");
-                    downloadUrl = paperDownload.get("downloadUrl").getAsString();
+                    String downloadUrl = paperDownload.get("downloadUrl").getAsString();
+
+                    JsonObject fileInfo = paperDownload.getAsJsonObject("fileInfo");
+                    if (fileInfo != null && fileInfo.has("sha256Hash")) {
+                        return new Release(name, downloadUrl, "SHA-256", fileInfo.get("sha256Hash").getAsString());
+                    }
+                    return new Release(name, downloadUrl, null, null);
                 }
+                return new Release(name, null, null, null);
             }
         }
+        return null;
     }
 
-    private void fetchModrinthVersion() throws Exception {
+    private @Nullable Release fetchModrinthVersion() throws Exception {
         String url = "https://api.modrinth.com/v2/project/" + config.resourceId() + "/version";
 
         HttpRequest request = HttpRequest.newBuilder()
@@ -131,60 +166,204 @@ public final class UpdateChecker {
             JsonArray versions = JsonParser.parseString(response.body()).getAsJsonArray();
 
             if (!versions.isEmpty()) {
-                JsonObject latest = versions.get(0).getAsJsonObject();
-                latestVersion = latest.get("version_number").getAsString();
+                JsonObject version = versions.get(0).getAsJsonObject();
+                String name = version.get("version_number").getAsString();
 
-                JsonArray files = latest.getAsJsonArray("files");
+                JsonArray files = version.getAsJsonArray("files");
                 if (!files.isEmpty()) {
                     JsonObject file = files.get(0).getAsJsonObject();
-                    downloadUrl = file.get("url").getAsString();
+                    String downloadUrl = file.get("url").getAsString();
+
+                    JsonObject hashes = file.getAsJsonObject("hashes");
+                    if (hashes != null && hashes.has("sha512")) {
+                        return new Release(name, downloadUrl, "SHA-512", hashes.get("sha512").getAsString());
+                    }
+                    return new Release(name, downloadUrl, null, null);
                 }
+                return new Release(name, null, null, null);
             }
         }
+        return null;
     }
 
-    private @NotNull CompletableFuture<Void> downloadUpdate() {
-        return CompletableFuture.runAsync(() -> {
-            if (downloadUrl == null) {
-                plugin.getLogger().warning("No download URL available");
-                return;
+    /**
+     * Download the latest version into the server's update folder, completing with whether it was installed
+     */
+    public @NotNull CompletableFuture<Boolean> downloadUpdate() {
+        Release release = latest;
+        if (release == null) {
+            plugin.getLogger().warning("No download URL available");
+            return CompletableFuture.completedFuture(false);
+        }
+        return downloadUpdate(release);
+    }
+
+    /**
+     * Download a release, a call while a download is running gets that download instead of starting another one
+     */
+    @NotNull CompletableFuture<Boolean> downloadUpdate(@NotNull Release release) {
+        CompletableFuture<Boolean> created = new CompletableFuture<>();
+        CompletableFuture<Boolean> running = downloading.compareAndExchange(null, created);
+        if (running != null) return running; // Two downloads would write the same partial file
+
+        executor.execute(() -> {
+            try {
+                created.complete(download(release));
+            } catch (Throwable e) {
+                created.completeExceptionally(e);
+            } finally {
+                downloading.compareAndSet(created, null);
+            }
+        });
+        return created;
+    }
+
+    /**
+     * Stream the jar into a partial file next to the target, hashing it on the way, and move it into place once
+     * the hash matches. A partial file left by an interrupted download is resumed with an HTTP range request.
+     */
+    private boolean download(@NotNull Release release) {
+        if (release.downloadUrl() == null) {
+            plugin.getLogger().warning("No download URL available");
+            return false;
+        }
+
+        try {
+            Path updateFolder = plugin.getDataFolder().toPath().getParent().resolve("update");
+            Files.createDirectories(updateFolder);
+
+            Path updateFile = updateFolder.resolve(plugin.getName() + ".jar");
+            // The partial file is named after the version so a newer release never resumes an older one
+            String version = release.version().replaceAll("[^A-Za-z0-9._-]", "_");
+            Path partFile = updateFolder.resolve(plugin.getName() + "-" + version + ".jar.part");
+            String algorithm = release.hashAlgorithm() != null ? release.hashAlgorithm() : "SHA-256";
+
+            // Leftovers of older releases can never be resumed anymore
+            try (DirectoryStream<Path> parts = Files.newDirectoryStream(updateFolder, plugin.getName() + "-*.jar.part")) {
+                for (Path part : parts) {
+                    if (!part.equals(partFile)) {
+                        Files.deleteIfExists(part);
+                    }
+                }
+            }
+
+            plugin.getLogger().info("Downloading update from: " + release.downloadUrl());
+
+            MessageDigest digest = null;
+            for (int attempt = 1; digest == null; attempt++) {
+                try {
+                    digest = transfer(URI.create(release.downloadUrl()), partFile, algorithm);
+                } catch (IOException e) {
+                    if (attempt >= MAX_DOWNLOAD_ATTEMPTS) throw e;
+                    plugin.getLogger().warning("Update download interrupted, resuming: " + e.getMessage());
+                }
+            }
+
+            String actualHash = HexFormat.of().formatHex(digest.digest());
+            String expectedHash = release.expectedHash();
+            if (expectedHash == null) {
+                plugin.getLogger().warning("The platform provides no hash for this update, " + algorithm + " is " + actualHash);
+            } else if (!expectedHash.equalsIgnoreCase(actualHash)) {
+                Files.deleteIfExists(partFile);
+                plugin.getLogger().severe("Update rejected, " + algorithm + " mismatch: expected " + expectedHash + " but got " + actualHash);
+                return false;
             }
 
             try {
-                plugin.getLogger().info("Downloading update from: " + downloadUrl);
-
-                HttpRequest request = HttpRequest.newBuilder()
-                        .uri(URI.create(downloadUrl))
-                        .header("User-Agent", "KawaiiLib-UpdateChecker")
-                        .GET()
-                        .build();
-
-                HttpResponse<InputStream> response = httpClient.send(
-                        request,
-                        HttpResponse.BodyHandlers.ofInputStream()
-                );
-
-                if (response.statusCode() == 200) {
-                    Path updateFolder = plugin.getDataFolder().toPath().getParent().resolve("update");
-                    Files.createDirectories(updateFolder);
-
-                    Path updateFile = updateFolder.resolve(plugin.getName() + ".jar");
-                    Files.copy(response.body(), updateFile, StandardCopyOption.REPLACE_EXISTING);
-
-                    plugin.getLogger().info("Update downloaded successfully!");
-                    plugin.getLogger().info("Restart the server to apply the update.");
-                } else {
-                    plugin.getLogger().warning("Failed to download update: HTTP " + response.statusCode());
+                Files.move(partFile, updateFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(partFile, updateFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            plugin.getLogger().info("Update downloaded successfully!");
+            plugin.getLogger().info("Restart the server to apply the update.");
+            return true;
+
+        } catch (Exception e) {
+            plugin.getLogger().severe("Error downloading update: " + e.getMessage());
+            e.printStackTrace();
+            return false;
+        }
+    }
+
+    /**
+     * Append the rest of the download to the partial file, returning the digest of the whole file
+     */
+    private @NotNull MessageDigest transfer(@NotNull URI downloadUrl, @NotNull Path partFile, @NotNull String algorithm)
+            throws IOException, InterruptedException, NoSuchAlgorithmException {
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        long existing = Files.exists(partFile) ? Files.size(partFile) : 0;
+
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+                .uri(downloadUrl)
+                .header("User-Agent", "KawaiiLib-UpdateChecker")
+                .GET();
+        if (existing > 0) {
+            request.header("Range", "bytes=" + existing + "-");
+        }
+
+        HttpResponse<InputStream> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofInputStream());
+        int status = response.statusCode();
+
+        if (status == 416 && existing > 0) {
+            // The partial file doesn't fit the remote file anymore, start over
+            response.body().close();
+            Files.deleteIfExists(partFile);
+            return transfer(downloadUrl, partFile, algorithm);
+        }
+        if (status != 200 && status != 206) {
+            response.body().close();
+            throw new IllegalStateException("HTTP " + status);
+        }
+
+        // A server ignoring the range sends the whole file again
+        boolean resume = status == 206;
+        try (InputStream body = response.body();
+             FileChannel channel = FileChannel.open(partFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                     StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+            if (!resume) {
+                channel.truncate(0);
+            } else {
+                // The bytes kept from the previous attempt are part of the hash too
+                long position = 0;
+                while (position < existing) {
+                    buffer.clear();
+                    int read = channel.read(buffer, position);
+                    if (read < 0) break;
+                    digest.update(buffer.array(), 0, read);
+                    position += read;
                 }
+                channel.truncate(existing).position(existing);
+            }
 
-            } catch (Exception e) {
-                plugin.getLogger().severe("Error downloading update: " + e.getMessage());
-                e.printStackTrace();
+            byte[] array = buffer.array();
+            for (int read; (read = body.read(array)) >= 0; ) {
+                digest.update(array, 0, read);
+                buffer.clear().limit(read);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
             }
-        });
+            channel.force(false);
+        }
+        return digest;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
     }
 
     public String getLatestVersion() {
-        return latestVersion;
+        Release release = latest;
+        return release != null ? release.version() : null;
+    }
+
+    /**
+     * A published version, the hash fields are null when the platform doesn't provide one
+     */
+    record Release(@NotNull String version, @Nullable String downloadUrl,
+                   @Nullable String hashAlgorithm, @Nullable String expectedHash) {
     }
 }
\ No newline at end of file
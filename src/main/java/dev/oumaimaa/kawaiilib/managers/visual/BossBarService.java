@@ -0,0 +1,248 @@
+package dev.oumaimaa.kawaiilib.managers.visual;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Adventure boss bars, either shared by many viewers or owned by a single player, both looked up by id.
+ * <p>
+ * A shared bar is one {@link BossBar} shown to all its viewers, so updating it is one state change whatever
+ * the number of players. Name and progress updates are only recorded when called, they're applied once at
+ * the end of the tick and progress changes smaller than the threshold are dropped. Updates may come from
+ * any thread, bars are only touched on the main thread.
+ */
+public final class BossBarService {
+
+    private static final float DEFAULT_THRESHOLD = 0.01f; // One percent, finer changes are invisible on the bar
+
+    private final Bootstrap plugin;
+    private final float threshold;
+    private final Map<String, Bar> sharedBars = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, Bar>> playerBars = new ConcurrentHashMap<>();
+    private final Set<Bar> dirtyBars = ConcurrentHashMap.newKeySet();
+    private BukkitTask task;
+
+    public BossBarService(@NotNull Bootstrap plugin) {
+        this(plugin, DEFAULT_THRESHOLD);
+    }
+
+    public BossBarService(@NotNull Bootstrap plugin, float threshold) {
+        this.plugin = plugin;
+        this.threshold = Math.max(0, threshold);
+        plugin.getEventManager().registerHandler(PlayerQuitEvent.class, EventPriority.MONITOR, false,
+                event -> handleQuit(event.getPlayer()));
+    }
+
+    /**
+     * Create a shared bar, or return the existing one with that id
+     */
+    public @NotNull BossBar createShared(@NotNull String id, @NotNull Component name, float progress,
+                                         @NotNull BossBar.Color color, @NotNull BossBar.Overlay overlay) {
+        return sharedBars.computeIfAbsent(id, key -> new Bar(name, clamp(progress), color, overlay)).bar;
+    }
+
+    public @Nullable BossBar getShared(@NotNull String id) {
+        Bar bar = sharedBars.get(id);
+        return bar != null ? bar.bar : null;
+    }
+
+    public void addViewer(@NotNull String id, @NotNull Player player) {
+        Bar bar = sharedBars.get(id);
+        if (bar == null) return;
+
+        if (bar.viewers.add(player.getUniqueId())) {
+            runOnMainThread(() -> player.showBossBar(bar.bar));
+        }
+    }
+
+    public void removeViewer(@NotNull String id, @NotNull Player player) {
+        Bar bar = sharedBars.get(id);
+        if (bar == null) return;
+
+        if (bar.viewers.remove(player.getUniqueId())) {
+            runOnMainThread(() -> player.hideBossBar(bar.bar));
+        }
+    }
+
+    /**
+     * Queue a name and progress change for a shared bar, a null name keeps the current one
+     */
+    public void updateShared(@NotNull String id, @Nullable Component name, float progress) {
+        Bar bar = sharedBars.get(id);
+        if (bar != null) {
+            queue(bar, name, progress);
+        }
+    }
+
+    public void removeShared(@NotNull String id) {
+        Bar bar = sharedBars.remove(id);
+        if (bar == null) return;
+
+        dirtyBars.remove(bar);
+        runOnMainThread(() -> {
+            for (UUID uuid : bar.viewers) {
+                Player player = Bukkit.getPlayer(uuid);
+                if (player != null) {
+                    player.hideBossBar(bar.bar);
+                }
+            }
+            bar.viewers.clear();
+        });
+    }
+
+    /**
+     * Show a bar only this player sees, replacing the player's bar with the same id
+     */
+    public @NotNull BossBar show(@NotNull Player player, @NotNull String id, @NotNull Component name, float progress,
+                                 @NotNull BossBar.Color color, @NotNull BossBar.Overlay overlay) {
+        Bar bar = new Bar(name, clamp(progress), color, overlay);
+        Bar previous = playerBars.computeIfAbsent(player.getUniqueId(), uuid -> new ConcurrentHashMap<>()).put(id, bar);
+
+        runOnMainThread(() -> {
+            if (previous != null) {
+                dirtyBars.remove(previous);
+                player.hideBossBar(previous.bar);
+            }
+            player.showBossBar(bar.bar);
+        });
+        return bar.bar;
+    }
+
+    /**
+     * Queue a name and progress change for one of the player's bars, a null name keeps the current one
+     */
+    public void update(@NotNull Player player, @NotNull String id, @Nullable Component name, float progress) {
+        Map<String, Bar> bars = playerBars.get(player.getUniqueId());
+        Bar bar = bars != null ? bars.get(id) : null;
+        if (bar != null) {
+            queue(bar, name, progress);
+        }
+    }
+
+    public void hide(@NotNull Player player, @NotNull String id) {
+        Map<String, Bar> bars = playerBars.get(player.getUniqueId());
+        Bar bar = bars != null ? bars.remove(id) : null;
+        if (bar == null) return;
+
+        dirtyBars.remove(bar);
+        runOnMainThread(() -> player.hideBossBar(bar.bar));
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        dirtyBars.clear();
+
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            for (Bar bar : sharedBars.values()) {
+                player.hideBossBar(bar.bar);
+            }
+            Map<String, Bar> bars = playerBars.get(player.getUniqueId());
+            if (bars != null) {
+                bars.values().forEach(bar -> player.hideBossBar(bar.bar));
+            }
+        }
+        sharedBars.clear();
+        playerBars.clear();
+    }
+
+    private void handleQuit(@NotNull Player player) {
+        UUID uuid = player.getUniqueId();
+        for (Bar bar : sharedBars.values()) {
+            if (bar.viewers.remove(uuid)) {
+                player.hideBossBar(bar.bar);
+            }
+        }
+
+        Map<String, Bar> bars = playerBars.remove(uuid);
+        if (bars != null) {
+            bars.values().forEach(dirtyBars::remove);
+        }
+    }
+
+    private void queue(@NotNull Bar bar, @Nullable Component name, float progress) {
+        synchronized (bar) {
+            if (name != null) {
+                bar.pendingName = name;
+            }
+            bar.pendingProgress = clamp(progress);
+        }
+
+        if (dirtyBars.add(bar)) {
+            synchronized (this) {
+                if (task == null) {
+                    task = Bukkit.getScheduler().runTaskTimer(plugin, this::flush, 1L, 1L);
+                }
+            }
+        }
+    }
+
+    private void flush() {
+        for (Bar bar : dirtyBars) {
+            dirtyBars.remove(bar);
+
+            Component name;
+            float progress;
+            synchronized (bar) {
+                name = bar.pendingName;
+                progress = bar.pendingProgress;
+                bar.pendingName = null;
+            }
+
+            // Adventure sends a packet to every viewer on each property change, so only real changes go through
+            if (name != null && !name.equals(bar.bar.name())) {
+                bar.bar.name(name);
+            }
+            float current = bar.bar.progress();
+            if (Math.abs(progress - current) >= threshold || (progress != current && (progress == 0 || progress == 1))) {
+                bar.bar.progress(progress);
+            }
+        }
+
+        synchronized (this) {
+            if (dirtyBars.isEmpty() && task != null) {
+                task.cancel();
+                task = null;
+            }
+        }
+    }
+
+    private void runOnMainThread(@NotNull Runnable action) {
+        if (Bukkit.isPrimaryThread()) {
+            action.run();
+        } else {
+            Bukkit.getScheduler().runTask(plugin, action);
+        }
+    }
+
+    private static float clamp(float progress) {
+        return Math.max(0, Math.min(1, progress));
+    }
+
+    private static final class Bar {
+        private final BossBar bar;
+        private final Set<UUID> viewers = ConcurrentHashMap.newKeySet(); // Only used by shared bars
+        private Component pendingName;
+        private float pendingProgress;
+
+        private Bar(Component name, float progress, BossBar.Color color, BossBar.Overlay overlay) {
+            this.bar = BossBar.bossBar(name, progress, color, overlay);
+            this.pendingProgress = progress;
+        }
+    }
+}
\ No newline at end of file
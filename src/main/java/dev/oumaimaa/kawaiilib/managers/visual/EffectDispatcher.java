@@ -0,0 +1,206 @@
+package dev.oumaimaa.kawaiilib.managers.visual;
+
+import org.bukkit.Bukkit;
+import org.bukkit.FireworkEffect;
+import org.bukkit.Location;
+import org.bukkit.SoundCategory;
+import org.bukkit.World;
+import org.bukkit.entity.Firework;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.meta.FireworkMeta;
+import org.bukkit.plugin.Plugin;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Plays positional sounds and fireworks in one batch at the start of the next tick.
+ * <p>
+ * The batch is a scheduler task, which the server runs before the next tick's world update, so every effect
+ * queued during a tick, from any thread, goes out together one tick later.
+ * <p>
+ * Effects are grouped by region, a 64 block square, and the players around a region are looked up once
+ * in a grid of online players built for that batch. Identical sounds queued in the same tick are sent
+ * once. Fireworks on the same block are merged into a single rocket that only the audience can see,
+ * and rockets without power explode right away, so a celebration costs one short-lived entity per block.
+ */
+public final class EffectDispatcher {
+
+    private static final int REGION_SHIFT = 6; // 64 blocks, the farthest any of these effects is heard or seen
+    private static final double SOUND_RANGE = 16;
+    private static final double MAX_RANGE = 1 << REGION_SHIFT;
+
+    private final Plugin plugin;
+    private final Queue<Object> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    public EffectDispatcher(@NotNull Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Queue a sound at a location, heard by every player in range on the next tick
+     */
+    public void playSound(@NotNull Location location, @NotNull String sound, @NotNull SoundCategory category,
+                          float volume, float pitch) {
+        World world = location.getWorld();
+        if (world == null) return;
+
+        queue(new SoundEffect(world, location.getX(), location.getY(), location.getZ(), sound, category, volume, pitch));
+    }
+
+    /**
+     * Queue a firework, a power of 0 explodes on the spot instead of flying up first
+     */
+    public void launchFirework(@NotNull Location location, @NotNull FireworkEffect effect, int power) {
+        World world = location.getWorld();
+        if (world == null) return;
+
+        queue(new FireworkBurst(world, location.getX(), location.getY(), location.getZ(), effect, Math.max(0, power)));
+    }
+
+    private void queue(@NotNull Object effect) {
+        pending.add(effect);
+        if (flushScheduled.compareAndSet(false, true)) {
+            Bukkit.getScheduler().runTask(plugin, this::flush);
+        }
+    }
+
+    private void flush() {
+        flushScheduled.set(false);
+
+        Map<Region, List<Object>> regions = new LinkedHashMap<>();
+        Set<SoundEffect> sounds = new HashSet<>();
+        for (Object effect; (effect = pending.poll()) != null; ) {
+            if (effect instanceof SoundEffect sound) {
+                if (!sounds.add(sound)) continue; // Already playing this exact sound in this batch
+                regions.computeIfAbsent(Region.of(sound.world, sound.x, sound.z), r -> new ArrayList<>()).add(sound);
+            } else if (effect instanceof FireworkBurst burst) {
+                regions.computeIfAbsent(Region.of(burst.world, burst.x, burst.z), r -> new ArrayList<>()).add(burst);
+            }
+        }
+        if (regions.isEmpty()) return;
+
+        Map<Region, List<Player>> grid = indexPlayers();
+        for (Map.Entry<Region, List<Object>> entry : regions.entrySet()) {
+            List<Player> audience = audience(grid, entry.getKey());
+            if (audience.isEmpty()) continue;
+
+            Map<FireworkSpot, Set<FireworkEffect>> fireworks = new LinkedHashMap<>();
+            for (Object effect : entry.getValue()) {
+                if (effect instanceof SoundEffect sound) {
+                    play(sound, audience);
+                } else if (effect instanceof FireworkBurst burst) {
+                    fireworks.computeIfAbsent(FireworkSpot.of(burst), spot -> new LinkedHashSet<>()).add(burst.effect);
+                }
+            }
+            fireworks.forEach((spot, effects) -> launch(spot, effects, audience));
+        }
+    }
+
+    private void play(@NotNull SoundEffect sound, @NotNull List<Player> audience) {
+        // Louder sounds carry further, like vanilla, up to the region size the audience was gathered for
+        double range = Math.min(MAX_RANGE, SOUND_RANGE * Math.max(1, sound.volume));
+        double rangeSquared = range * range;
+        Location location = new Location(sound.world, sound.x, sound.y, sound.z);
+
+        for (Player player : audience) {
+            if (distanceSquared(player.getLocation(), sound.x, sound.y, sound.z) <= rangeSquared) {
+                player.playSound(location, sound.sound, sound.category, sound.volume, sound.pitch);
+            }
+        }
+    }
+
+    private void launch(@NotNull FireworkSpot spot, @NotNull Set<FireworkEffect> effects, @NotNull List<Player> audience) {
+        List<Player> viewers = new ArrayList<>();
+        for (Player player : audience) {
+            if (distanceSquared(player.getLocation(), spot.x + 0.5, spot.y, spot.z + 0.5) <= MAX_RANGE * MAX_RANGE) {
+                viewers.add(player);
+            }
+        }
+        if (viewers.isEmpty()) return;
+
+        Location location = new Location(spot.world, spot.x + 0.5, spot.y, spot.z + 0.5);
+        Firework firework = spot.world.spawn(location, Firework.class, rocket -> {
+            FireworkMeta meta = rocket.getFireworkMeta();
+            meta.addEffects(effects);
+            meta.setPower(spot.power);
+            rocket.setFireworkMeta(meta);
+            rocket.setVisibleByDefault(false);
+            rocket.setPersistent(false);
+        });
+
+        for (Player viewer : viewers) {
+            viewer.showEntity(plugin, firework);
+        }
+        if (spot.power == 0) {
+            firework.detonate();
+        }
+    }
+
+    /**
+     * Online players bucketed by world and region
+     */
+    private static @NotNull Map<Region, List<Player>> indexPlayers() {
+        Map<Region, List<Player>> grid = new HashMap<>();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Location location = player.getLocation();
+            grid.computeIfAbsent(Region.of(location.getWorld(), location.getX(), location.getZ()),
+                    r -> new ArrayList<>()).add(player);
+        }
+        return grid;
+    }
+
+    /**
+     * Players in the region and the eight around it, everyone who can be within range of an effect inside it
+     */
+    private static @NotNull List<Player> audience(@NotNull Map<Region, List<Player>> grid, @NotNull Region region) {
+        List<Player> audience = new ArrayList<>();
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                List<Player> players = grid.get(new Region(region.world, region.x + dx, region.z + dz));
+                if (players != null) {
+                    audience.addAll(players);
+                }
+            }
+        }
+        return audience;
+    }
+
+    private static double distanceSquared(@NotNull Location location, double x, double y, double z) {
+        double dx = location.getX() - x;
+        double dy = location.getY() - y;
+        double dz = location.getZ() - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    private record Region(World world, int x, int z) {
+        private static @NotNull Region of(World world, double x, double z) {
+            return new Region(world, (int) Math.floor(x) >> REGION_SHIFT, (int) Math.floor(z) >> REGION_SHIFT);
+        }
+    }
+
+    private record SoundEffect(World world, double x, double y, double z,
+                               String sound, SoundCategory category, float volume, float pitch) {
+    }
+
+    private record FireworkBurst(World world, double x, double y, double z, FireworkEffect effect, int power) {
+    }
+
+    private record FireworkSpot(World world, int x, int y, int z, int power) {
+        private static @NotNull FireworkSpot of(@NotNull FireworkBurst burst) {
+            return new FireworkSpot(burst.world, (int) Math.floor(burst.x), (int) Math.floor(burst.y),
+                    (int) Math.floor(burst.z), burst.power);
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,259 @@
+package dev.oumaimaa.kawaiilib.managers.visual;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import net.kyori.adventure.bossbar.BossBar;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.title.Title;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-player action bar, title and boss bar slots shared by every system that writes to them.
+ * <p>
+ * Each slot holds named layers with a priority and a lifetime, the highest priority layer is what the
+ * player sees. Writes only update the layers, one ticker for all players sends what changed once per
+ * tick, skips content the player already has and keeps sticky action bars from fading out.
+ */
+public final class HudManager {
+
+    private static final int ACTION_BAR_REFRESH_TICKS = 40; // The client fades action bars out after about 3 seconds
+    // Titles stay until their layer expires or gets replaced, clearing takes them down early
+    private static final Title.Times TITLE_TIMES = Title.Times.times(Duration.ofMillis(250), Duration.ofDays(1), Duration.ofMillis(500));
+
+    private final Bootstrap plugin;
+    private final Map<UUID, Hud> huds = new ConcurrentHashMap<>();
+    private volatile long tick;
+    private BukkitTask task;
+
+    public HudManager(@NotNull Bootstrap plugin) {
+        this.plugin = plugin;
+        plugin.getEventManager().registerHandler(PlayerQuitEvent.class, EventPriority.MONITOR, false,
+                event -> huds.remove(event.getPlayer().getUniqueId()));
+    }
+
+    public enum Channel {
+        ACTION_BAR,
+        TITLE,
+        BOSS_BAR
+    }
+
+    public void setActionBar(@NotNull Player player, @NotNull String layer, int priority,
+                             @NotNull Component message, int ttlTicks) {
+        set(player, Channel.ACTION_BAR, layer, priority, message, ttlTicks);
+    }
+
+    public void setTitle(@NotNull Player player, @NotNull String layer, int priority,
+                         @NotNull Component title, @NotNull Component subtitle, int ttlTicks) {
+        set(player, Channel.TITLE, layer, priority, new TitleContent(title, subtitle), ttlTicks);
+    }
+
+    /**
+     * Show a boss bar in the player's HUD slot, the progress is clamped to 0..1
+     */
+    public void setBossBar(@NotNull Player player, @NotNull String layer, int priority,
+                           @NotNull Component name, float progress, int ttlTicks) {
+        float clamped = Math.max(0, Math.min(1, progress));
+        set(player, Channel.BOSS_BAR, layer, priority, new BossBarContent(name, clamped), ttlTicks);
+    }
+
+    /**
+     * Remove a layer from a slot, the next layer below it shows up on the next tick
+     */
+    public void clear(@NotNull Player player, @NotNull Channel channel, @NotNull String layer) {
+        Hud hud = huds.get(player.getUniqueId());
+        if (hud == null) return;
+
+        synchronized (hud) {
+            List<Layer> layers = hud.layers.get(channel);
+            if (layers != null && layers.removeIf(existing -> existing.id.equals(layer))) {
+                hud.dirty = true;
+            }
+        }
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        for (Hud hud : huds.values()) {
+            if (hud.bossBar != null) {
+                hud.player.hideBossBar(hud.bossBar);
+            }
+        }
+        huds.clear();
+    }
+
+    /**
+     * @param ttlTicks lifetime of the layer, -1 keeps it until it's cleared and 0 shows it for a single tick
+     */
+    private void set(@NotNull Player player, @NotNull Channel channel, @NotNull String layer,
+                     int priority, @NotNull Object content, int ttlTicks) {
+        Hud hud = huds.computeIfAbsent(player.getUniqueId(), uuid -> new Hud(player));
+        // The layer is first flushed on the next tick, so its lifetime starts there and lasts at least that tick
+        long expiresAt = ttlTicks < 0 ? Long.MAX_VALUE : tick + 1 + Math.max(1, ttlTicks);
+
+        synchronized (hud) {
+            List<Layer> layers = hud.layers.computeIfAbsent(channel, c -> new ArrayList<>(2));
+            layers.removeIf(existing -> existing.id.equals(layer));
+            layers.add(new Layer(layer, priority, content, expiresAt));
+            hud.dirty = true;
+        }
+
+        // Scheduling from another thread is fine, the ticker itself only runs on the main thread
+        synchronized (this) {
+            if (task == null) {
+                task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+            }
+        }
+    }
+
+    private void tick() {
+        long now = ++tick;
+        boolean active = false;
+
+        // Idle HUDs stay in the map until their player quits, writers may be filling them concurrently
+        for (Iterator<Hud> it = huds.values().iterator(); it.hasNext(); ) {
+            Hud hud = it.next();
+            if (!hud.player.isOnline()) {
+                it.remove();
+                continue;
+            }
+
+            synchronized (hud) {
+                boolean expired = false;
+                for (List<Layer> layers : hud.layers.values()) {
+                    expired |= layers.removeIf(layer -> layer.expiresAt <= now);
+                }
+
+                if (hud.dirty || expired) {
+                    hud.dirty = false;
+                    flushTitle(hud);
+                    flushBossBar(hud);
+                }
+                flushActionBar(hud, now);
+
+                active |= !hud.isIdle();
+            }
+        }
+
+        synchronized (this) {
+            // A writer may have filled a HUD after it was checked, it would see the task still running and not restart it
+            if (!active && task != null && huds.values().stream().allMatch(HudManager::isIdle)) {
+                task.cancel();
+                task = null;
+            }
+        }
+    }
+
+    private static boolean isIdle(@NotNull Hud hud) {
+        synchronized (hud) {
+            return hud.isIdle();
+        }
+    }
+
+    private void flushActionBar(@NotNull Hud hud, long now) {
+        Component message = (Component) top(hud, Channel.ACTION_BAR);
+        if (message == null) {
+            if (hud.actionBar != null) {
+                hud.player.sendActionBar(Component.empty());
+                hud.actionBar = null;
+            }
+            return;
+        }
+
+        if (!message.equals(hud.actionBar) || now >= hud.actionBarRefreshAt) {
+            hud.player.sendActionBar(message);
+            hud.actionBar = message;
+            hud.actionBarRefreshAt = now + ACTION_BAR_REFRESH_TICKS;
+        }
+    }
+
+    private void flushTitle(@NotNull Hud hud) {
+        TitleContent content = (TitleContent) top(hud, Channel.TITLE);
+        if (Objects.equals(content, hud.title)) return;
+
+        if (content == null) {
+            hud.player.clearTitle();
+        } else {
+            hud.player.showTitle(Title.title(content.title, content.subtitle, TITLE_TIMES));
+        }
+        hud.title = content;
+    }
+
+    private void flushBossBar(@NotNull Hud hud) {
+        BossBarContent content = (BossBarContent) top(hud, Channel.BOSS_BAR);
+        if (content == null) {
+            if (hud.bossBar != null) {
+                hud.player.hideBossBar(hud.bossBar);
+                hud.bossBar = null;
+            }
+            return;
+        }
+
+        if (hud.bossBar == null) {
+            hud.bossBar = BossBar.bossBar(content.name, content.progress, BossBar.Color.WHITE, BossBar.Overlay.PROGRESS);
+            hud.player.showBossBar(hud.bossBar);
+            return;
+        }
+
+        // Adventure only sends a packet when a property actually changes
+        hud.bossBar.name(content.name);
+        hud.bossBar.progress(content.progress);
+    }
+
+    private static Object top(@NotNull Hud hud, @NotNull Channel channel) {
+        List<Layer> layers = hud.layers.get(channel);
+        if (layers == null || layers.isEmpty()) return null;
+
+        Layer top = layers.getFirst();
+        for (Layer layer : layers) {
+            if (layer.priority > top.priority) {
+                top = layer;
+            }
+        }
+        return top.content;
+    }
+
+    private static final class Hud {
+        private final Player player;
+        private final Map<Channel, List<Layer>> layers = new EnumMap<>(Channel.class);
+        private boolean dirty;
+        private Component actionBar;
+        private long actionBarRefreshAt;
+        private TitleContent title;
+        private BossBar bossBar;
+
+        private Hud(Player player) {
+            this.player = player;
+        }
+
+        private boolean isIdle() {
+            return layers.values().stream().allMatch(List::isEmpty)
+                    && actionBar == null && title == null && bossBar == null;
+        }
+    }
+
+    private record Layer(String id, int priority, Object content, long expiresAt) {
+    }
+
+    private record TitleContent(Component title, Component subtitle) {
+    }
+
+    private record BossBarContent(Component name, float progress) {
+    }
+}
\ No newline at end of file
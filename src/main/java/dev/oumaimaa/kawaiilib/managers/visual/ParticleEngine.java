@@ -0,0 +1,321 @@
+package dev.oumaimaa.kawaiilib.managers.visual;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import dev.oumaimaa.kawaiilib.annotations.Particle;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.reflections.Reflections;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs every active particle effect from one repeating task.
+ * <p>
+ * Effects are declared with {@link Particle} on a method. A method returning a
+ * {@link ParticleShape} is called once and the shape is drawn every frame, any other method turns the
+ * annotation into a plain particle burst. Running effects are stored as parallel arrays and removed by
+ * swapping in the last one. When the frames due in a tick exceed the particle cap, the lowest priorities
+ * skip that frame, and effects of equal priority take turns. Like the {@link ParticleRenderer} budget, the cap
+ * counts particles sent to a single player, so a frame costs its points times its receivers. Effects end when their duration runs out or their anchor entity or chunk is gone.
+ * Effects are started and stopped on the main thread.
+ */
+public final class ParticleEngine {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final Bootstrap plugin;
+    private final int maxParticlesPerTick;
+    private final Map<String, Definition> definitions = new ConcurrentHashMap<>();
+
+    // Running effects, index i of every array describes the same effect
+    private int size;
+    private int nextHandle = 1;
+    private int[] handles = new int[INITIAL_CAPACITY];
+    private Definition[] effects = new Definition[INITIAL_CAPACITY];
+    private Entity[] anchors = new Entity[INITIAL_CAPACITY];
+    private World[] worlds = new World[INITIAL_CAPACITY];
+    private double[] xs = new double[INITIAL_CAPACITY];
+    private double[] ys = new double[INITIAL_CAPACITY];
+    private double[] zs = new double[INITIAL_CAPACITY];
+    private int[] ages = new int[INITIAL_CAPACITY];
+    private int[] remaining = new int[INITIAL_CAPACITY];
+    private long[] due = new long[INITIAL_CAPACITY];
+    private int rotation;
+
+    private BukkitTask task;
+
+    public ParticleEngine(@NotNull Bootstrap plugin, int maxParticlesPerTick) {
+        this.plugin = plugin;
+        this.maxParticlesPerTick = Math.max(1, maxParticlesPerTick);
+    }
+
+    public void registerEffects(@NotNull Reflections reflections) {
+        Set<Method> effectMethods = reflections.getMethodsAnnotatedWith(Particle.class);
+
+        for (Method method : effectMethods) {
+            Particle ann = method.getAnnotation(Particle.class);
+            String id = ann.id().isEmpty() ? method.getName() : ann.id();
+
+            try {
+                ParticleShape shape = null;
+                if (ParticleShape.class.isAssignableFrom(method.getReturnType())) {
+                    method.setAccessible(true);
+                    Object instance = Modifier.isStatic(method.getModifiers())
+                            ? null
+                            : method.getDeclaringClass().getDeclaredConstructor().newInstance();
+                    shape = (ParticleShape) method.invoke(instance);
+                }
+                requireNoData(ann, shape);
+
+                definitions.put(id, new Definition(id, ann, shape));
+                plugin.getLogger().info("Registered particle effect: " + id);
+            } catch (Exception e) {
+                plugin.getLogger().severe("Failed to register particle effect " + id + ": " + e.getMessage());
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Play an effect following an entity, returns a handle for {@link #stop(int)} or 0 when the id is unknown
+     */
+    public int play(@NotNull String id, @NotNull Entity anchor) {
+        Location location = anchor.getLocation();
+        return start(id, anchor, location.getWorld(), location.getX(), location.getY(), location.getZ());
+    }
+
+    /**
+     * Play an effect at a fixed location, it ends when the chunk unloads
+     */
+    public int play(@NotNull String id, @NotNull Location location) {
+        return start(id, null, location.getWorld(), location.getX(), location.getY(), location.getZ());
+    }
+
+    public void stop(int handle) {
+        for (int i = 0; i < size; i++) {
+            if (handles[i] == handle) {
+                remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stop every effect anchored to an entity
+     */
+    public void stopAll(@NotNull Entity anchor) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (anchors[i] == anchor) {
+                remove(i);
+            }
+        }
+    }
+
+    public int getActiveCount() {
+        return size;
+    }
+
+    public void shutdown() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+        Arrays.fill(anchors, 0, size, null);
+        Arrays.fill(worlds, 0, size, null);
+        Arrays.fill(effects, 0, size, null);
+        size = 0;
+    }
+
+    private int start(@NotNull String id, Entity anchor, World world, double x, double y, double z) {
+        Definition definition = definitions.get(id);
+        if (definition == null) {
+            plugin.getLogger().warning("Unknown particle effect: " + id);
+            return 0;
+        }
+        if (world == null) return 0;
+
+        if (size == handles.length) {
+            grow();
+        }
+
+        int i = size++;
+        handles[i] = nextHandle++;
+        effects[i] = definition;
+        anchors[i] = anchor;
+        worlds[i] = world;
+        xs[i] = x;
+        ys[i] = y;
+        zs[i] = z;
+        ages[i] = 0;
+        remaining[i] = definition.annotation.duration();
+
+        if (task == null) {
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this::tick, 1L, 1L);
+        }
+        return handles[i];
+    }
+
+    private void tick() {
+        // Drop finished effects first, removal moves the last effect into the freed index
+        for (int i = size - 1; i >= 0; i--) {
+            Entity anchor = anchors[i];
+            if (remaining[i] == 0) {
+                remove(i);
+            } else if (anchor != null) {
+                if (!anchor.isValid()) {
+                    remove(i);
+                    continue;
+                }
+                Location location = anchor.getLocation();
+                worlds[i] = location.getWorld();
+                xs[i] = location.getX();
+                ys[i] = location.getY();
+                zs[i] = location.getZ();
+            } else if (!worlds[i].isChunkLoaded((int) Math.floor(xs[i]) >> 4, (int) Math.floor(zs[i]) >> 4)) {
+                remove(i);
+            }
+        }
+
+        // Equal priorities are ordered by index shifted by a per-tick offset, so the same ones aren't shed every tick
+        int offset = size > 0 ? Math.floorMod(rotation++, size) : 0;
+        int dueCount = 0;
+        for (int i = 0; i < size; i++) {
+            if (remaining[i] > 0) {
+                remaining[i]--;
+            }
+
+            Definition definition = effects[i];
+            if (ages[i]++ % definition.period == 0) {
+                // Priority in the high bits, rotated index in the low bits, so sorting orders by priority
+                due[dueCount++] = ((long) definition.annotation.priority() << 32) | ((i + offset) % size);
+            }
+        }
+
+        if (dueCount > 1) {
+            Arrays.sort(due, 0, dueCount);
+        }
+
+        long budget = maxParticlesPerTick;
+        for (int d = dueCount - 1; d >= 0 && budget > 0; d--) {
+            int i = Math.floorMod((int) due[d] - offset, size);
+            Definition definition = effects[i];
+            List<Player> receivers = receivers(i, definition);
+            if (receivers.isEmpty()) continue;
+
+            long cost = (long) definition.cost * receivers.size();
+            if (cost > budget) continue; // Shed this frame, cheaper effects may still fit
+
+            budget -= cost;
+            try {
+                draw(i, definition, receivers);
+            } catch (RuntimeException e) {
+                // One broken effect must not stop the others, it's dropped at the start of the next tick
+                plugin.getLogger().severe("Stopped particle effect " + definition.id + ": " + e.getMessage());
+                remaining[i] = 0;
+            }
+        }
+
+        if (size == 0) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private @NotNull List<Player> receivers(int i, @NotNull Definition definition) {
+        double radius = definition.shape != null ? definition.shape.radius() : 0;
+        Location origin = new Location(worlds[i], xs[i], ys[i], zs[i]);
+        return ParticleRenderer.receivers(origin, radius, ParticleRenderer.DEFAULT_VIEW_DISTANCE);
+    }
+
+    private void draw(int i, @NotNull Definition definition, @NotNull List<Player> receivers) {
+        Particle ann = definition.annotation;
+        World world = worlds[i];
+
+        if (definition.shape == null) {
+            world.spawnParticle(ann.particle(), receivers, null, xs[i], ys[i], zs[i],
+                    ann.count(), ann.offsetX(), ann.offsetY(), ann.offsetZ(), ann.extra(), null, true);
+            return;
+        }
+
+        double angle = ann.spin() * (ages[i] / definition.period);
+        ParticleRenderer.emit(definition.shape, world, xs[i], ys[i], zs[i], Math.cos(angle), Math.sin(angle),
+                0, definition.shape.size(), ann.particle(), null, ann.extra(), receivers);
+    }
+
+    /**
+     * Effects carry no particle data, so particles that need some are refused up front instead of failing every frame.
+     * Dust is fine when the shape colors every point itself.
+     */
+    private static void requireNoData(@NotNull Particle ann, ParticleShape shape) {
+        org.bukkit.Particle particle = ann.particle();
+        if (particle.getDataType() == Void.class) return;
+
+        if (particle == org.bukkit.Particle.DUST && shape != null) {
+            boolean colored = true;
+            for (int i = 0; i < shape.size() && colored; i++) {
+                colored = shape.dust(i) != null;
+            }
+            if (colored) return;
+        }
+        throw new IllegalArgumentException(particle + " needs " + particle.getDataType().getSimpleName()
+                + " data, which effects can't provide");
+    }
+
+    private void remove(int i) {
+        int last = --size;
+        handles[i] = handles[last];
+        effects[i] = effects[last];
+        anchors[i] = anchors[last];
+        worlds[i] = worlds[last];
+        xs[i] = xs[last];
+        ys[i] = ys[last];
+        zs[i] = zs[last];
+        ages[i] = ages[last];
+        remaining[i] = remaining[last];
+
+        effects[last] = null;
+        anchors[last] = null;
+        worlds[last] = null;
+    }
+
+    private void grow() {
+        int capacity = handles.length * 2;
+        handles = Arrays.copyOf(handles, capacity);
+        effects = Arrays.copyOf(effects, capacity);
+        anchors = Arrays.copyOf(anchors, capacity);
+        worlds = Arrays.copyOf(worlds, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+        ages = Arrays.copyOf(ages, capacity);
+        remaining = Arrays.copyOf(remaining, capacity);
+        due = Arrays.copyOf(due, capacity);
+    }
+
+    private static final class Definition {
+        private final String id;
+        private final Particle annotation;
+        private final ParticleShape shape;
+        private final int period;
+        private final int cost; // Points per frame, multiplied by the receivers when a frame is drawn
+
+        private Definition(String id, Particle annotation, ParticleShape shape) {
+            this.id = id;
+            this.annotation = annotation;
+            this.shape = shape;
+            this.period = Math.max(1, annotation.period());
+            this.cost = Math.max(1, shape != null ? shape.size() : annotation.count());
+        }
+    }
+}
\ No newline at end of file
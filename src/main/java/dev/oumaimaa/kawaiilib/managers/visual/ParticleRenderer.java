@@ -0,0 +1,197 @@
+package dev.oumaimaa.kawaiilib.managers.visual;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.scheduler.BukkitTask;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Emits {@link ParticleShape}s to players that can actually see them.
+ * <p>
+ * Receivers are picked by distance and by whether the shape is roughly in front of them. Every point is sent
+ * to that list only, instead of being broadcast to everyone in range. Renders that would exceed the per-tick
+ * budget, counted in particles sent to a single player and shared by every render of the tick, continue over
+ * the next ticks and pick their receivers again each tick, so players who left or walked away stop getting them.
+ */
+public final class ParticleRenderer {
+
+    public static final double DEFAULT_VIEW_DISTANCE = 48;
+    private static final double BEHIND_DOT = -0.35; // Roughly 110 degrees off the look direction
+
+    private final Plugin plugin;
+    private final int budgetPerTick;
+    private final ArrayDeque<Job> jobs = new ArrayDeque<>();
+    private BukkitTask task;
+    private int budgetTick = -1;
+    private int spentThisTick;
+
+    public ParticleRenderer(@NotNull Plugin plugin, int budgetPerTick) {
+        this.plugin = plugin;
+        this.budgetPerTick = Math.max(1, budgetPerTick);
+    }
+
+    /**
+     * Render a shape at an origin, spreading it over several ticks if it doesn't fit this tick's budget
+     */
+    public void render(@NotNull ParticleShape shape, @NotNull Location origin, @NotNull Particle particle, @Nullable Object data) {
+        World world = origin.getWorld();
+        if (world == null || shape.size() == 0) return;
+
+        List<Player> receivers = receivers(origin, shape.radius(), DEFAULT_VIEW_DISTANCE);
+        if (receivers.isEmpty()) return;
+
+        jobs.add(new Job(shape, world, origin.getX(), origin.getY(), origin.getZ(), particle, data, receivers));
+        if (task == null) {
+            drain();
+            if (!jobs.isEmpty()) {
+                task = Bukkit.getScheduler().runTaskTimer(plugin, this::drain, 1L, 1L);
+            }
+        }
+    }
+
+    /**
+     * Stop rendering and drop queued shapes
+     */
+    public void shutdown() {
+        jobs.clear();
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    private void drain() {
+        int tick = Bukkit.getCurrentTick();
+        if (tick != budgetTick) {
+            budgetTick = tick;
+            spentThisTick = 0;
+        }
+
+        int budget = budgetPerTick - spentThisTick;
+        while (budget > 0 && !jobs.isEmpty()) {
+            Job job = jobs.peek();
+            if (job.stale) {
+                job.receivers = receivers(new Location(job.world, job.x, job.y, job.z), job.shape.radius(),
+                        DEFAULT_VIEW_DISTANCE);
+                if (job.receivers.isEmpty()) {
+                    jobs.poll();
+                    continue;
+                }
+            }
+            job.stale = true; // Receivers are only current for this tick
+
+            int points = Math.max(1, budget / job.receivers.size());
+            int end = Math.min(job.shape.size(), job.cursor + points);
+
+            emit(job.shape, job.world, job.x, job.y, job.z, job.cursor, end, job.particle, job.data, job.receivers);
+            budget -= (end - job.cursor) * job.receivers.size();
+            job.cursor = end;
+
+            if (job.cursor >= job.shape.size()) {
+                jobs.poll();
+            }
+        }
+        spentThisTick = budgetPerTick - Math.max(0, budget);
+
+        if (jobs.isEmpty() && task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Players in the origin's world that are close enough and not looking away from a shape of the given radius
+     */
+    public static @NotNull List<Player> receivers(@NotNull Location origin, double shapeRadius, double viewDistance) {
+        World world = origin.getWorld();
+        List<Player> receivers = new ArrayList<>();
+        if (world == null) return receivers;
+
+        double reach = viewDistance + shapeRadius;
+        for (Player player : world.getPlayers()) {
+            Location eye = player.getEyeLocation();
+            double dx = origin.getX() - eye.getX();
+            double dy = origin.getY() - eye.getY();
+            double dz = origin.getZ() - eye.getZ();
+            double distanceSquared = dx * dx + dy * dy + dz * dz;
+            if (distanceSquared > reach * reach) continue;
+
+            // Players inside or right next to the shape see it whichever way they look
+            double distance = Math.sqrt(distanceSquared);
+            if (distance > shapeRadius + 4) {
+                double yaw = Math.toRadians(eye.getYaw());
+                double pitch = Math.toRadians(eye.getPitch());
+                double lookX = -Math.sin(yaw) * Math.cos(pitch);
+                double lookY = -Math.sin(pitch);
+                double lookZ = Math.cos(yaw) * Math.cos(pitch);
+                if ((lookX * dx + lookY * dy + lookZ * dz) / distance < BEHIND_DOT) continue;
+            }
+
+            receivers.add(player);
+        }
+        return receivers;
+    }
+
+    /**
+     * Send points {@code [from, to)} of a shape to the given players
+     */
+    static void emit(@NotNull ParticleShape shape, @NotNull World world,
+                     double x, double y, double z, int from, int to,
+                     @NotNull Particle particle, @Nullable Object data, @NotNull List<Player> receivers) {
+        emit(shape, world, x, y, z, 1, 0, from, to, particle, data, 0, receivers);
+    }
+
+    /**
+     * Send points {@code [from, to)} of a shape turned around the vertical axis by the angle given as cosine and sine
+     */
+    static void emit(@NotNull ParticleShape shape, @NotNull World world,
+                     double x, double y, double z, double cos, double sin, int from, int to,
+                     @NotNull Particle particle, @Nullable Object data, double extra, @NotNull List<Player> receivers) {
+        for (int i = from; i < to; i++) {
+            Object pointData = data;
+            if (particle == Particle.DUST && shape.dust(i) != null) {
+                pointData = shape.dust(i);
+            }
+
+            double px = shape.x(i);
+            double pz = shape.z(i);
+            world.spawnParticle(particle, receivers, null,
+                    x + px * cos - pz * sin, y + shape.y(i), z + px * sin + pz * cos,
+                    1, 0, 0, 0, extra, pointData, true);
+        }
+    }
+
+    private static final class Job {
+        private final ParticleShape shape;
+        private final World world;
+        private final double x;
+        private final double y;
+        private final double z;
+        private final Particle particle;
+        private final Object data;
+        private List<Player> receivers;
+        private boolean stale;
+        private int cursor;
+
+        private Job(ParticleShape shape, World world, double x, double y, double z,
+                    Particle particle, Object data, List<Player> receivers) {
+            this.shape = shape;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.particle = particle;
+            this.data = data;
+            this.receivers = receivers;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,172 @@
+package dev.oumaimaa.kawaiilib.managers.visual;
+
+import org.bukkit.Color;
+import org.bukkit.Particle;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+
+/**
+ * Immutable point cloud relative to an origin, computed once and emitted any number of times by {@link ParticleRenderer}.
+ * <p>
+ * Coordinates live in plain double arrays so rendering never allocates a {@code Location} per point.
+ */
+public final class ParticleShape {
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    private final Particle.DustOptions[] dust;
+    private final double radius;
+
+    private ParticleShape(double[] xs, double[] ys, double[] zs, Particle.DustOptions[] dust) {
+        this.xs = xs;
+        this.ys = ys;
+        this.zs = zs;
+        this.dust = dust;
+
+        double max = 0;
+        for (int i = 0; i < xs.length; i++) {
+            max = Math.max(max, xs[i] * xs[i] + ys[i] * ys[i] + zs[i] * zs[i]);
+        }
+        this.radius = Math.sqrt(max);
+    }
+
+    @Contract("_, _ -> new")
+    public static @NotNull ParticleShape circle(double radius, int points) {
+        double[] xs = new double[points];
+        double[] zs = new double[points];
+        for (int i = 0; i < points; i++) {
+            double angle = 2 * Math.PI * i / points;
+            xs[i] = radius * Math.cos(angle);
+            zs[i] = radius * Math.sin(angle);
+        }
+        return new ParticleShape(xs, new double[points], zs, null);
+    }
+
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull ParticleShape helix(double height, double radius, int points, double turns) {
+        double[] xs = new double[points];
+        double[] ys = new double[points];
+        double[] zs = new double[points];
+        for (int i = 0; i < points; i++) {
+            double angle = (2 * Math.PI / points) * i * turns;
+            xs[i] = radius * Math.cos(angle);
+            ys[i] = (height / points) * i;
+            zs[i] = radius * Math.sin(angle);
+        }
+        return new ParticleShape(xs, ys, zs, null);
+    }
+
+    /**
+     * Evenly spread points over a sphere surface using a Fibonacci lattice
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull ParticleShape sphere(double radius, int points) {
+        double[] xs = new double[points];
+        double[] ys = new double[points];
+        double[] zs = new double[points];
+        double goldenAngle = Math.PI * (3 - Math.sqrt(5));
+        for (int i = 0; i < points; i++) {
+            double y = points == 1 ? 0 : 1 - 2.0 * i / (points - 1);
+            double ring = Math.sqrt(1 - y * y);
+            double angle = goldenAngle * i;
+            xs[i] = radius * ring * Math.cos(angle);
+            ys[i] = radius * y;
+            zs[i] = radius * ring * Math.sin(angle);
+        }
+        return new ParticleShape(xs, ys, zs, null);
+    }
+
+    /**
+     * Straight line from the origin to the given offset
+     */
+    @Contract("_, _, _, _ -> new")
+    public static @NotNull ParticleShape line(double dx, double dy, double dz, int points) {
+        double[] xs = new double[points];
+        double[] ys = new double[points];
+        double[] zs = new double[points];
+        for (int i = 0; i < points; i++) {
+            double t = points == 1 ? 0 : (double) i / (points - 1);
+            xs[i] = dx * t;
+            ys[i] = dy * t;
+            zs[i] = dz * t;
+        }
+        return new ParticleShape(xs, ys, zs, null);
+    }
+
+    /**
+     * Upright picture centered on the origin, one colored dust point per opaque pixel.
+     * Emit it with {@link Particle#DUST}, other particles ignore the colors.
+     */
+    @Contract("_, _, _ -> new")
+    public static @NotNull ParticleShape image(@NotNull BufferedImage image, double pixelSize, float dustSize) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        double[] xs = new double[width * height];
+        double[] ys = new double[width * height];
+        Particle.DustOptions[] dust = new Particle.DustOptions[width * height];
+
+        int count = 0;
+        for (int py = 0; py < height; py++) {
+            for (int px = 0; px < width; px++) {
+                int argb = image.getRGB(px, py);
+                if ((argb >>> 24) < 128) continue;
+
+                xs[count] = (px - width / 2.0) * pixelSize;
+                ys[count] = (height - 1 - py) * pixelSize;
+                dust[count] = new Particle.DustOptions(Color.fromRGB(argb & 0xFFFFFF), dustSize);
+                count++;
+            }
+        }
+
+        return new ParticleShape(Arrays.copyOf(xs, count), Arrays.copyOf(ys, count), new double[count],
+                Arrays.copyOf(dust, count));
+    }
+
+    /**
+     * Copy of this shape rotated around the vertical axis, for facing shapes computed once per direction
+     */
+    @Contract("_ -> new")
+    public @NotNull ParticleShape rotateY(double radians) {
+        double cos = Math.cos(radians);
+        double sin = Math.sin(radians);
+        double[] rx = new double[xs.length];
+        double[] rz = new double[zs.length];
+        for (int i = 0; i < xs.length; i++) {
+            rx[i] = xs[i] * cos - zs[i] * sin;
+            rz[i] = xs[i] * sin + zs[i] * cos;
+        }
+        return new ParticleShape(rx, ys, rz, dust);
+    }
+
+    public int size() {
+        return xs.length;
+    }
+
+    /**
+     * Distance of the farthest point from the origin, used to cull whole shapes
+     */
+    public double radius() {
+        return radius;
+    }
+
+    double x(int index) {
+        return xs[index];
+    }
+
+    double y(int index) {
+        return ys[index];
+    }
+
+    double z(int index) {
+        return zs[index];
+    }
+
+    @Nullable Particle.DustOptions dust(int index) {
+        return dust != null ? dust[index] : null;
+    }
+}
\ No newline at end of file
@@ -1,19 +1,19 @@
 package dev.oumaimaa.kawaiilib.managers.visual;
 
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import net.kyori.adventure.bossbar.BossBar;
 import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
 import net.kyori.adventure.title.Title;
 import org.bukkit.*;
 import org.bukkit.boss.BarColor;
 import org.bukkit.boss.BarStyle;
-import org.bukkit.boss.BossBar;
-import org.bukkit.entity.Firework;
 import org.bukkit.entity.Player;
-import org.bukkit.inventory.meta.FireworkMeta;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
+import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -22,7 +22,8 @@ import java.util.concurrent.ConcurrentHashMap;
  */
 public final class VisualEffects {
 
-    private static final Map<UUID, BossBar> activeBossBars = new ConcurrentHashMap<>();
+    private static final String DEFAULT_BOSS_BAR = "default";
+    private static final Map<UUID, org.bukkit.boss.BossBar> legacyBossBars = new ConcurrentHashMap<>();
 
     private VisualEffects() {
         throw new UnsupportedOperationException("Utility class");
@@ -32,16 +33,8 @@ public final class VisualEffects {
      * Send an action bar message to a player
      */
     public static void sendActionBar(@NotNull Player player, @NotNull Component message, int durationTicks) {
-        player.sendActionBar(message);
-
-        // Keep resending for the duration
-        if (durationTicks > 20) {
-            Bukkit.getScheduler().runTaskLater(
-                    Objects.requireNonNull(Bukkit.getPluginManager().getPlugin("KawaiiLib")),
-                    () -> player.sendActionBar(Component.empty()),
-                    durationTicks
-            );
-        }
+        // Kept on screen for the duration by the shared HUD ticker
+        Bootstrap.getInstance().getHudManager().setActionBar(player, "default", 0, message, durationTicks);
     }
 
     /**
@@ -65,51 +58,75 @@ public final class VisualEffects {
     }
 
     /**
-     * Create a boss bar for a player
+     * Show the player's default boss bar, replacing the previous one
+     */
+    public static @NotNull BossBar showBossBar(@NotNull Player player,
+                                               @NotNull Component title,
+                                               BossBar.@NotNull Color color,
+                                               BossBar.@NotNull Overlay overlay,
+                                               float progress) {
+        removeLegacyBossBar(player);
+        return Bootstrap.getInstance().getBossBarService().show(player, DEFAULT_BOSS_BAR, title, progress, color, overlay);
+    }
+
+    /**
+     * Create a Bukkit boss bar for a player, replacing the previous default boss bar
+     *
+     * @deprecated Bukkit bars bypass the coalesced updates of {@link BossBarService}, use {@link #showBossBar}
      */
-    public static @NotNull BossBar createBossBar(@NotNull Player player,
-                                                 @NotNull Component title,
-                                                 BarColor color,
-                                                 BarStyle style,
-                                                 float progress) {
-        // Remove existing boss bar
+    @Deprecated
+    public static @NotNull org.bukkit.boss.BossBar createBossBar(@NotNull Player player,
+                                                                 @NotNull Component title,
+                                                                 BarColor color,
+                                                                 BarStyle style,
+                                                                 float progress) {
         removeBossBar(player);
 
-        BossBar bossBar = Bukkit.createBossBar(
-                title.toString(),
+        org.bukkit.boss.BossBar bossBar = Bukkit.createBossBar(
+                LegacyComponentSerializer.legacySection().serialize(title),
                 color,
                 style
         );
-
         bossBar.setProgress(Math.max(0, Math.min(1, progress)));
         bossBar.addPlayer(player);
 
-        activeBossBars.put(player.getUniqueId(), bossBar);
-
+        legacyBossBars.put(player.getUniqueId(), bossBar);
         return bossBar;
     }
 
     /**
-     * Update an existing boss bar
+     * Update the player's default boss bar, applied at the end of the tick
      */
     public static void updateBossBar(@NotNull Player player,
                                      @NotNull Component title,
                                      float progress) {
-        BossBar bossBar = activeBossBars.get(player.getUniqueId());
-        if (bossBar != null) {
-            bossBar.setTitle(title.toString());
-            bossBar.setProgress(Math.max(0, Math.min(1, progress)));
+        org.bukkit.boss.BossBar legacy = legacyBossBars.get(player.getUniqueId());
+        if (legacy != null) {
+            legacy.setTitle(LegacyComponentSerializer.legacySection().serialize(title));
+            legacy.setProgress(Math.max(0, Math.min(1, progress)));
+            return;
         }
+        Bootstrap.getInstance().getBossBarService().update(player, DEFAULT_BOSS_BAR, title, progress);
     }
 
     /**
-     * Remove a boss bar from a player
+     * Remove the player's default boss bar
      */
     public static void removeBossBar(@NotNull Player player) {
-        BossBar bossBar = activeBossBars.remove(player.getUniqueId());
-        if (bossBar != null) {
-            bossBar.removePlayer(player);
-        }
+        removeLegacyBossBar(player);
+        Bootstrap.getInstance().getBossBarService().hide(player, DEFAULT_BOSS_BAR);
+    }
+
+    /**
+     * Remove every boss bar shown through this class and {@link BossBarService}
+     *
+     * @deprecated The plugin removes its boss bars when it disables, see {@link BossBarService#shutdown()}
+     */
+    @Deprecated
+    public static void cleanup() {
+        legacyBossBars.values().forEach(org.bukkit.boss.BossBar::removeAll);
+        legacyBossBars.clear();
+        Bootstrap.getInstance().getBossBarService().shutdown();
     }
 
     /**
@@ -133,17 +150,7 @@ public final class VisualEffects {
                                            @NotNull Particle particle,
                                            double radius,
                                            int points) {
-        World world = center.getWorld();
-        if (world == null) return;
-
-        for (int i = 0; i < points; i++) {
-            double angle = 2 * Math.PI * i / points;
-            double x = center.getX() + radius * Math.cos(angle);
-            double z = center.getZ() + radius * Math.sin(angle);
-
-            Location particleLoc = new Location(world, x, center.getY(), z);
-            world.spawnParticle(particle, particleLoc, 1, 0, 0, 0, 0);
-        }
+        spawnParticleShape(center, particle, ParticleShape.circle(radius, points));
     }
 
     /**
@@ -154,34 +161,32 @@ public final class VisualEffects {
                                           double height,
                                           double radius,
                                           int points) {
-        World world = base.getWorld();
-        if (world == null) return;
-
-        for (int i = 0; i < points; i++) {
-            double y = (height / points) * i;
-            double angle = (2 * Math.PI / points) * i * 4; // 4 full rotations
+        spawnParticleShape(base, particle, ParticleShape.helix(height, radius, points, 4)); // 4 full rotations
+    }
 
-            double x = base.getX() + radius * Math.cos(angle);
-            double z = base.getZ() + radius * Math.sin(angle);
+    /**
+     * Emit a shape right away to the players that can see it, see {@link ParticleRenderer} for budgeted rendering
+     */
+    public static void spawnParticleShape(@NotNull Location origin,
+                                          @NotNull Particle particle,
+                                          @NotNull ParticleShape shape) {
+        World world = origin.getWorld();
+        if (world == null) return;
 
-            Location particleLoc = new Location(world, x, base.getY() + y, z);
-            world.spawnParticle(particle, particleLoc, 1, 0, 0, 0, 0);
+        List<Player> receivers = ParticleRenderer.receivers(origin, shape.radius(), ParticleRenderer.DEFAULT_VIEW_DISTANCE);
+        if (!receivers.isEmpty()) {
+            ParticleRenderer.emit(shape, world, origin.getX(), origin.getY(), origin.getZ(),
+                    0, shape.size(), particle, null, receivers);
         }
     }
 
     /**
-     * Spawn a firework at a location
+     * Spawn a firework at a location, batched with the other effects of this tick
      */
     public static void spawnFirework(@NotNull Location location,
                                      FireworkEffect.@NotNull Type type,
                                      @NotNull Color color,
                                      int power) {
-        World world = location.getWorld();
-        if (world == null) return;
-
-        Firework firework = world.spawn(location, Firework.class);
-        FireworkMeta meta = firework.getFireworkMeta();
-
         FireworkEffect effect = FireworkEffect.builder()
                 .with(type)
                 .withColor(color)
@@ -190,9 +195,7 @@ public final class VisualEffects {
                 .trail(true)
                 .build();
 
-        meta.addEffect(effect);
-        meta.setPower(power);
-        firework.setFireworkMeta(meta);
+        Bootstrap.getInstance().getEffectDispatcher().launchFirework(location, effect, power);
     }
 
     /**
@@ -220,37 +223,27 @@ public final class VisualEffects {
     }
 
     /**
-     * Play a sound at a specific location
-     * FIXED: Removed deprecated Sound.valueOf() usage
+     * Play a sound at a specific location, batched with the other effects of this tick
      */
     public static void playSoundAtLocation(@NotNull Location location,
                                            @NotNull String soundName,
                                            float volume,
                                            float pitch,
                                            SoundCategory category) {
-        World world = location.getWorld();
-        if (world == null) return;
-
-        // Try to parse as a Sound key first
-        try {
-            Sound sound = Registry.SOUNDS.get(NamespacedKey.minecraft(soundName.toLowerCase()));
-            if (sound != null) {
-                world.playSound(location, sound, category, volume, pitch);
-                return;
-            }
-        } catch (Exception ignored) {
-            // If that fails, fall through to custom sound
+        // Vanilla sounds are given by key, anything else is passed on as a custom sound
+        String sound = soundName;
+        NamespacedKey key = NamespacedKey.fromString(soundName.toLowerCase());
+        if (key != null && Registry.SOUNDS.get(key) != null) {
+            sound = key.toString();
         }
 
-        // Fallback to custom sound string
-        world.playSound(location, soundName, category, volume, pitch);
+        Bootstrap.getInstance().getEffectDispatcher().playSound(location, sound, category, volume, pitch);
     }
 
-    /**
-     * Cleanup all active boss bars
-     */
-    public static void cleanup() {
-        activeBossBars.values().forEach(BossBar::removeAll);
-        activeBossBars.clear();
+    private static void removeLegacyBossBar(@NotNull Player player) {
+        org.bukkit.boss.BossBar legacy = legacyBossBars.remove(player.getUniqueId());
+        if (legacy != null) {
+            legacy.removePlayer(player);
+        }
     }
 }
\ No newline at end of file
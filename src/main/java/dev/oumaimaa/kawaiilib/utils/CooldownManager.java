@@ -21,7 +21,10 @@ public final class CooldownManager {
      * Check if a player is on cooldown for a named action
      */
     public boolean isOnCooldown(String key, UUID uuid, Duration duration) {
-        Map<UUID, Instant> keyCooldowns = cooldowns.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        Map<UUID, Instant> keyCooldowns = cooldowns.get(key);
+        if (keyCooldowns == null) {
+            return false;
+        }
 
         Instant lastUse = keyCooldowns.get(uuid);
         if (lastUse == null) {
@@ -79,10 +82,11 @@ public final class CooldownManager {
      * Reset a cooldown for a player
      */
     public void resetCooldown(String key, UUID uuid) {
-        Map<UUID, Instant> keyCooldowns = cooldowns.get(key);
-        if (keyCooldowns != null) {
+        // Drop the action once nobody is on cooldown for it, so one-off keys don't pile up
+        cooldowns.computeIfPresent(key, (k, keyCooldowns) -> {
             keyCooldowns.remove(uuid);
-        }
+            return keyCooldowns.isEmpty() ? null : keyCooldowns;
+        });
     }
 
     /**
@@ -1,5 +1,61 @@
 package dev.oumaimaa.kawaiilib.utils;
 
-public class SkullUtils {
+import com.destroystokyo.paper.profile.PlayerProfile;
+import com.destroystokyo.paper.profile.ProfileProperty;
+import org.bukkit.Bukkit;
+import org.bukkit.Material;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.meta.SkullMeta;
+import org.jetbrains.annotations.Contract;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Utility class for player heads carrying a texture
+ */
+public final class SkullUtils {
+
+    public static final String TEXTURES_PROPERTY = "textures";
+
+    private SkullUtils() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    /**
+     * Copy of the item turned into a plain player head, keeping its name, lore and other meta
+     */
+    @Contract("_ -> new")
+    public static @NotNull ItemStack asHead(@NotNull ItemStack item) {
+        return item.getType() == Material.PLAYER_HEAD ? item.clone() : item.withType(Material.PLAYER_HEAD);
+    }
+
+    /**
+     * Copy of the head with the given base64 texture value applied
+     */
+    @Contract("_, _ -> new")
+    public static @NotNull ItemStack withTexture(@NotNull ItemStack head, @NotNull String texture) {
+        ItemStack result = asHead(head);
+
+        // The profile id is derived from the texture so heads with the same skin stack together
+        PlayerProfile profile = Bukkit.createProfile(UUID.nameUUIDFromBytes(texture.getBytes(StandardCharsets.UTF_8)), null);
+        profile.setProperty(new ProfileProperty(TEXTURES_PROPERTY, texture));
+
+        result.editMeta(SkullMeta.class, meta -> meta.setPlayerProfile(profile));
+        return result;
+    }
+
+    /**
+     * Texture value of a profile, null when the profile has none
+     */
+    public static @Nullable String getTexture(@NotNull PlayerProfile profile) {
+        for (ProfileProperty property : profile.getProperties()) {
+            if (property.getName().equals(TEXTURES_PROPERTY)) {
+                return property.getValue();
+            }
+        }
+        return null;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package dev.oumaimaa.kawaiilib;
+
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+import java.util.logging.Logger;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Plugin stand-in for managers that only need a logger, a data folder and a config
+ */
+public final class TestPlugins {
+
+    private TestPlugins() {
+        throw new UnsupportedOperationException("Utility class");
+    }
+
+    public static @NotNull Bootstrap mockPlugin(@NotNull Path dataFolder) {
+        Bootstrap plugin = mock(Bootstrap.class);
+        doReturn(Logger.getLogger("KawaiiLib-Test")).when(plugin).getLogger();
+        doReturn(dataFolder.toFile()).when(plugin).getDataFolder();
+        doReturn(new YamlConfiguration()).when(plugin).getConfig();
+        doReturn("KawaiiLib").when(plugin).getName();
+        doReturn(TestPlugins.class).when(plugin).getMainClass();
+        return plugin;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,112 @@
+package dev.oumaimaa.kawaiilib.managers.config;
+
+import dev.oumaimaa.kawaiilib.TestPlugins;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConfigSnapshotCacheTest {
+
+    private static final int ROUNDS = 30;
+
+    @TempDir
+    Path dataFolder;
+
+    private ConfigSnapshotCache cache;
+    private File file;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        cache = new ConfigSnapshotCache(TestPlugins.mockPlugin(dataFolder));
+        file = dataFolder.resolve("config.yml").toFile();
+        Files.writeString(file.toPath(), largeYaml(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void snapshotRestoresValuesAndComments() throws Exception {
+        YamlConfiguration parsed = parse();
+        cache.load(file); // Writes the snapshot
+        assertTrue(Files.isRegularFile(dataFolder.resolve(".cache/config/config.yml.snapshot")));
+
+        assertEquals(parsed.saveToString(), cache.load(file).saveToString());
+    }
+
+    @Test
+    void changedFileIsParsedAgain() throws IOException {
+        cache.load(file);
+        Files.writeString(file.toPath(), "changed: true\n", StandardCharsets.UTF_8);
+
+        YamlConfiguration reloaded = cache.load(file);
+        assertEquals(1, reloaded.getKeys(false).size());
+        assertTrue(reloaded.getBoolean("changed"));
+    }
+
+    @Test
+    void snapshotLoadIsFasterThanColdParse() throws Exception {
+        cache.load(file);
+        for (int i = 0; i < ROUNDS; i++) { // Warm up both paths
+            parse();
+            cache.load(file);
+        }
+
+        long parseNanos = Long.MAX_VALUE;
+        long snapshotNanos = Long.MAX_VALUE;
+        for (int i = 0; i < ROUNDS; i++) {
+            long start = System.nanoTime();
+            parse();
+            long middle = System.nanoTime();
+            cache.load(file);
+            long end = System.nanoTime();
+
+            parseNanos = Math.min(parseNanos, middle - start);
+            snapshotNanos = Math.min(snapshotNanos, end - middle);
+        }
+
+        System.out.printf("Best of %d: YAML parse %.2f ms, snapshot load %.2f ms%n",
+                ROUNDS, parseNanos / 1e6, snapshotNanos / 1e6);
+        assertTrue(snapshotNanos < parseNanos,
+                "snapshot load took " + snapshotNanos + " ns, YAML parse " + parseNanos + " ns");
+    }
+
+    /**
+     * Cold parse as {@code YamlConfiguration.loadConfiguration} does it, reading the file included
+     */
+    private YamlConfiguration parse() throws IOException, InvalidConfigurationException {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.loadFromString(Files.readString(file.toPath(), StandardCharsets.UTF_8));
+        return yaml;
+    }
+
+    /**
+     * Roughly the shape of a large plugin config: nested sections, lists, comments and mixed scalars
+     */
+    private static String largeYaml() {
+        StringBuilder yaml = new StringBuilder("# Generated for ConfigSnapshotCacheTest\n\n");
+        for (int section = 0; section < 100; section++) {
+            yaml.append("# Section ").append(section).append('\n');
+            yaml.append("section-").append(section).append(":\n");
+            for (int entry = 0; entry < 20; entry++) {
+                yaml.append("  entry-").append(entry).append(":\n");
+                yaml.append("    name: '<gradient:#ff77aa:#77aaff>Entry ").append(entry).append("</gradient>'\n");
+                yaml.append("    amount: ").append(entry * 3).append(" # inline comment\n");
+                yaml.append("    chance: ").append(entry / 7.0).append('\n');
+                yaml.append("    enabled: ").append(entry % 2 == 0).append('\n');
+                yaml.append("    lore:\n");
+                yaml.append("      - 'First line'\n");
+                yaml.append("      - 'Second line'\n");
+            }
+        }
+        return yaml.toString();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,124 @@
+package dev.oumaimaa.kawaiilib.managers.database;
+
+import dev.oumaimaa.kawaiilib.TestPlugins;
+import dev.oumaimaa.kawaiilib.annotations.Database;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SchemaMigratorTest {
+
+    @TempDir
+    Path dataFolder;
+
+    private DatabaseManager database;
+
+    @AfterEach
+    void closeDatabase() {
+        if (database != null) {
+            database.close();
+        }
+    }
+
+    @Test
+    void splitStatementsIgnoresSemicolonsInQuotesAndComments() {
+        List<String> statements = SchemaMigrator.splitStatements("""
+                -- setup; not a statement
+                CREATE TABLE a (id INT);
+                INSERT INTO a VALUES (1) /* one; two */;
+                INSERT INTO b VALUES ('it''s; fine', "x;y", `z;w`);
+                """);
+
+        assertEquals(List.of(
+                "CREATE TABLE a (id INT)",
+                "INSERT INTO a VALUES (1)",
+                "INSERT INTO b VALUES ('it''s; fine', \"x;y\", `z;w`)"
+        ), statements);
+    }
+
+    @Test
+    void splitStatementsKeepsTrailingStatementWithoutSemicolon() {
+        assertEquals(List.of("SELECT 1", "SELECT 2"), SchemaMigrator.splitStatements("SELECT 1;\n\nSELECT 2\n"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"H2", "SQLITE"})
+    void appliesScriptsAndBackfillsInChunks(String type) {
+        database = open(type);
+        new SchemaMigrator(TestPlugins.mockPlugin(dataFolder), database, "migrations/base").migrate();
+
+        assertEquals(5, count("SELECT COUNT(*) FROM items WHERE migrated = 1"));
+        assertEquals(2, count("SELECT COUNT(*) FROM kawaii_schema_history"));
+
+        // Five rows in chunks of two: 2, 2 and 1, then an empty chunk ends the backfill
+        DatabaseMetrics.StatementStats backfill = database.getMetrics().getStatements().stream()
+                .filter(stats -> stats.getFingerprint().startsWith("UPDATE items SET migrated"))
+                .findFirst().orElseThrow();
+        assertEquals(4, backfill.getCalls());
+        assertEquals(5, backfill.getRows());
+        assertEquals("apple; red", database.transactionAsync(tx -> tx.query(
+                "SELECT name FROM items WHERE id = 1", rs -> {
+                    try {
+                        return rs.next() ? rs.getString(1) : null;
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })).join());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"H2", "SQLITE"})
+    void runningTwiceAppliesNothingNew(String type) {
+        database = open(type);
+        new SchemaMigrator(TestPlugins.mockPlugin(dataFolder), database, "migrations/base").migrate();
+        new SchemaMigrator(TestPlugins.mockPlugin(dataFolder), database, "migrations/base").migrate();
+
+        assertEquals(2, count("SELECT COUNT(*) FROM kawaii_schema_history"));
+        assertEquals(5, count("SELECT COUNT(*) FROM items"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"H2", "SQLITE"})
+    void rejectsScriptChangedAfterItWasApplied(String type) {
+        database = open(type);
+        new SchemaMigrator(TestPlugins.mockPlugin(dataFolder), database, "migrations/base").migrate();
+
+        SchemaMigrator modified = new SchemaMigrator(TestPlugins.mockPlugin(dataFolder), database, "migrations/modified");
+        IllegalStateException error = assertThrows(IllegalStateException.class, modified::migrate);
+        assertTrue(error.getMessage().contains("checksum mismatch"), error.getMessage());
+    }
+
+    private DatabaseManager open(String type) {
+        Class<?> config = "H2".equals(type) ? H2.class : Sqlite.class;
+        return new DatabaseManager(TestPlugins.mockPlugin(dataFolder), config.getAnnotation(Database.class));
+    }
+
+    private long count(String sql) {
+        return database.transactionAsync(tx -> tx.query(sql, rs -> {
+            try {
+                rs.next();
+                return rs.getLong(1);
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        })).join();
+    }
+
+    @Database(type = "H2")
+    private static final class H2 {
+    }
+
+    @Database(type = "SQLITE")
+    private static final class Sqlite {
+    }
+}
\ No newline at end of file
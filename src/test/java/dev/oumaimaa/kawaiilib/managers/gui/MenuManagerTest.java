@@ -0,0 +1,393 @@
+package dev.oumaimaa.kawaiilib.managers.gui;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import dev.oumaimaa.kawaiilib.TestPlugins;
+import dev.oumaimaa.kawaiilib.annotations.Button;
+import dev.oumaimaa.kawaiilib.annotations.Menu;
+import dev.oumaimaa.kawaiilib.annotations.PaginatedMenu;
+import dev.oumaimaa.kawaiilib.annotations.Skull;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import org.bukkit.Material;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.plugin.PluginLoader;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+import org.mockbukkit.mockbukkit.entity.PlayerMock;
+import org.reflections.Reflections;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+class MenuManagerTest {
+
+    private static final String ITEM = "DIAMOND_SWORD{name='<gradient:#ff77aa:#77aaff>Kawaii Sword</gradient>', "
+            + "lore=['<gray>A sword for testing', '<gray>Damage: <red>7', '<yellow>Click to buy'], "
+            + "model=1001, flags=[HIDE_ATTRIBUTES]}";
+    private static final int ROUNDS = 20;
+    private static final int OPENS_PER_ROUND = 50;
+
+    @TempDir
+    Path dataFolder;
+
+    private ServerMock server;
+    private MiniMessage miniMessage;
+    private MenuManager menus;
+    private final List<Consumer<ItemStack>> pendingSkulls = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        server = MockBukkit.mock();
+        miniMessage = MiniMessage.miniMessage();
+
+        Bootstrap plugin = TestPlugins.mockPlugin(dataFolder);
+        doReturn(true).when(plugin).isEnabled();
+        doReturn(mock(PluginLoader.class)).when(plugin).getPluginLoader(); // No listeners are registered
+        doReturn(miniMessage).when(plugin).getMiniMessage();
+        doReturn(Component.text("Shop")).when(plugin).formatText(anyString());
+
+        // Skulls keep their placeholder until the test resolves them
+        SkullService skulls = mock(SkullService.class);
+        doAnswer(invocation -> {
+            pendingSkulls.add(invocation.getArgument(2));
+            return invocation.getArgument(1);
+        }).when(skulls).head(anyString(), any(ItemStack.class), any());
+        doReturn(skulls).when(plugin).getSkullService();
+
+        Reflections reflections = mock(Reflections.class);
+        doReturn(Set.of(FullMenu.class)).when(reflections).getTypesAnnotatedWith(Menu.class);
+        doReturn(Set.of(ProfilePages.class)).when(reflections).getTypesAnnotatedWith(PaginatedMenu.class);
+        menus = new MenuManager(plugin);
+        menus.registerMenus(reflections);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MockBukkit.unmock();
+    }
+
+    @Test
+    void opensEverySlotOfAFullMenu() {
+        PlayerMock player = server.addPlayer();
+        menus.openMenu(player, FullMenu.class);
+
+        Inventory inventory = player.getOpenInventory().getTopInventory();
+        ItemStack expected = ItemParser.parse(miniMessage, ITEM);
+        assertEquals(54, inventory.getSize());
+        for (int slot = 0; slot < 54; slot++) {
+            assertEquals(expected, inventory.getItem(slot), "slot " + slot);
+        }
+    }
+
+    @Test
+    void resolvedSkullUpdatesOpenPaginatedMenus() {
+        PlayerMock player = server.addPlayer();
+        menus.openMenu(player, ProfilePages.class);
+        Inventory inventory = player.getOpenInventory().getTopInventory();
+        assertEquals(Material.PAPER, inventory.getItem(0).getType()); // The page is shown
+
+        ItemStack head = new ItemStack(Material.PLAYER_HEAD);
+        pendingSkulls.forEach(whenReady -> whenReady.accept(head));
+        assertEquals(head, inventory.getItem(ProfilePages.PROFILE_SLOT));
+    }
+
+    /**
+     * Opening a 54-slot menu clones its templates, registration is the only place item strings are parsed
+     */
+    @Test
+    void openingAFullMenuIsFasterThanParsingItsItems() {
+        PlayerMock player = server.addPlayer();
+        for (int i = 0; i < ROUNDS * OPENS_PER_ROUND; i++) { // Warm up both paths
+            menus.openMenu(player, FullMenu.class);
+            parseAllItems();
+        }
+
+        long openNanos = Long.MAX_VALUE;
+        long parseNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int i = 0; i < OPENS_PER_ROUND; i++) {
+                menus.openMenu(player, FullMenu.class);
+            }
+            long middle = System.nanoTime();
+            for (int i = 0; i < OPENS_PER_ROUND; i++) {
+                parseAllItems();
+            }
+            long end = System.nanoTime();
+
+            openNanos = Math.min(openNanos, (middle - start) / OPENS_PER_ROUND);
+            parseNanos = Math.min(parseNanos, (end - middle) / OPENS_PER_ROUND);
+        }
+
+        System.out.printf("54-slot menu, best of %d rounds: open %.1f us, parsing the items %.1f us%n",
+                ROUNDS, openNanos / 1e3, parseNanos / 1e3);
+        assertTrue(openNanos < parseNanos, "open took " + openNanos + " ns, parsing " + parseNanos + " ns");
+    }
+
+    /**
+     * The work every open did before templates: one parse per button
+     */
+    private void parseAllItems() {
+        for (int slot = 0; slot < 54; slot++) {
+            ItemParser.parse(miniMessage, ITEM);
+        }
+    }
+
+    @PaginatedMenu(title = "Profiles", rows = 2)
+    static final class ProfilePages implements PageSource<String> {
+        static final int PROFILE_SLOT = 13;
+
+        @Override
+        public @NotNull CompletableFuture<Page<String>> load(@NotNull Player viewer, int page, int pageSize) {
+            return PageSource.slice(List.of("alice", "bob"), page, pageSize);
+        }
+
+        @Override
+        public @NotNull ItemStack render(@NotNull Player viewer, @NotNull String entry) {
+            return new ItemStack(Material.PAPER);
+        }
+
+        @Skull(owner = "alice")
+        @Button(slot = PROFILE_SLOT, item = "PLAYER_HEAD{name='<yellow>Your profile'}")
+        void profile() {
+        }
+    }
+
+    @Menu(title = "Shop", rows = 6)
+    static final class FullMenu {
+        @Button(slot = 0, item = ITEM)
+        void slot0() {
+        }
+
+        @Button(slot = 1, item = ITEM)
+        void slot1() {
+        }
+
+        @Button(slot = 2, item = ITEM)
+        void slot2() {
+        }
+
+        @Button(slot = 3, item = ITEM)
+        void slot3() {
+        }
+
+        @Button(slot = 4, item = ITEM)
+        void slot4() {
+        }
+
+        @Button(slot = 5, item = ITEM)
+        void slot5() {
+        }
+
+        @Button(slot = 6, item = ITEM)
+        void slot6() {
+        }
+
+        @Button(slot = 7, item = ITEM)
+        void slot7() {
+        }
+
+        @Button(slot = 8, item = ITEM)
+        void slot8() {
+        }
+
+        @Button(slot = 9, item = ITEM)
+        void slot9() {
+        }
+
+        @Button(slot = 10, item = ITEM)
+        void slot10() {
+        }
+
+        @Button(slot = 11, item = ITEM)
+        void slot11() {
+        }
+
+        @Button(slot = 12, item = ITEM)
+        void slot12() {
+        }
+
+        @Button(slot = 13, item = ITEM)
+        void slot13() {
+        }
+
+        @Button(slot = 14, item = ITEM)
+        void slot14() {
+        }
+
+        @Button(slot = 15, item = ITEM)
+        void slot15() {
+        }
+
+        @Button(slot = 16, item = ITEM)
+        void slot16() {
+        }
+
+        @Button(slot = 17, item = ITEM)
+        void slot17() {
+        }
+
+        @Button(slot = 18, item = ITEM)
+        void slot18() {
+        }
+
+        @Button(slot = 19, item = ITEM)
+        void slot19() {
+        }
+
+        @Button(slot = 20, item = ITEM)
+        void slot20() {
+        }
+
+        @Button(slot = 21, item = ITEM)
+        void slot21() {
+        }
+
+        @Button(slot = 22, item = ITEM)
+        void slot22() {
+        }
+
+        @Button(slot = 23, item = ITEM)
+        void slot23() {
+        }
+
+        @Button(slot = 24, item = ITEM)
+        void slot24() {
+        }
+
+        @Button(slot = 25, item = ITEM)
+        void slot25() {
+        }
+
+        @Button(slot = 26, item = ITEM)
+        void slot26() {
+        }
+
+        @Button(slot = 27, item = ITEM)
+        void slot27() {
+        }
+
+        @Button(slot = 28, item = ITEM)
+        void slot28() {
+        }
+
+        @Button(slot = 29, item = ITEM)
+        void slot29() {
+        }
+
+        @Button(slot = 30, item = ITEM)
+        void slot30() {
+        }
+
+        @Button(slot = 31, item = ITEM)
+        void slot31() {
+        }
+
+        @Button(slot = 32, item = ITEM)
+        void slot32() {
+        }
+
+        @Button(slot = 33, item = ITEM)
+        void slot33() {
+        }
+
+        @Button(slot = 34, item = ITEM)
+        void slot34() {
+        }
+
+        @Button(slot = 35, item = ITEM)
+        void slot35() {
+        }
+
+        @Button(slot = 36, item = ITEM)
+        void slot36() {
+        }
+
+        @Button(slot = 37, item = ITEM)
+        void slot37() {
+        }
+
+        @Button(slot = 38, item = ITEM)
+        void slot38() {
+        }
+
+        @Button(slot = 39, item = ITEM)
+        void slot39() {
+        }
+
+        @Button(slot = 40, item = ITEM)
+        void slot40() {
+        }
+
+        @Button(slot = 41, item = ITEM)
+        void slot41() {
+        }
+
+        @Button(slot = 42, item = ITEM)
+        void slot42() {
+        }
+
+        @Button(slot = 43, item = ITEM)
+        void slot43() {
+        }
+
+        @Button(slot = 44, item = ITEM)
+        void slot44() {
+        }
+
+        @Button(slot = 45, item = ITEM)
+        void slot45() {
+        }
+
+        @Button(slot = 46, item = ITEM)
+        void slot46() {
+        }
+
+        @Button(slot = 47, item = ITEM)
+        void slot47() {
+        }
+
+        @Button(slot = 48, item = ITEM)
+        void slot48() {
+        }
+
+        @Button(slot = 49, item = ITEM)
+        void slot49() {
+        }
+
+        @Button(slot = 50, item = ITEM)
+        void slot50() {
+        }
+
+        @Button(slot = 51, item = ITEM)
+        void slot51() {
+        }
+
+        @Button(slot = 52, item = ITEM)
+        void slot52() {
+        }
+
+        @Button(slot = 53, item = ITEM)
+        void slot53() {
+        }
+    }
+}
\ No newline at end of file
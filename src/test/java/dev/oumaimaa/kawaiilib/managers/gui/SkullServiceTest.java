@@ -0,0 +1,133 @@
+package dev.oumaimaa.kawaiilib.managers.gui;
+
+import dev.oumaimaa.kawaiilib.Bootstrap;
+import dev.oumaimaa.kawaiilib.TestPlugins;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SkullServiceTest {
+
+    private static final Duration LONG_TTL = Duration.ofHours(1);
+
+    @TempDir
+    Path dataFolder;
+
+    private Bootstrap plugin;
+    private final List<SkullService> services = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        plugin = TestPlugins.mockPlugin(dataFolder);
+    }
+
+    @AfterEach
+    void shutdown() {
+        services.forEach(SkullService::shutdown);
+    }
+
+    @Test
+    void concurrentLookupsShareOneRequest() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        SkullService service = open(name -> {
+            calls.incrementAndGet();
+            started.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return "texture-of-" + name;
+        }, LONG_TTL);
+
+        CompletableFuture<String> first = service.texture("Alice");
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<String> second = service.texture("alice");
+        assertSame(first, second);
+
+        release.countDown();
+        assertEquals("texture-of-alice", first.get(5, TimeUnit.SECONDS));
+        assertEquals("texture-of-alice", service.texture("ALICE").get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void diskCacheServesFreshTexturesAfterRestart() throws Exception {
+        SkullService first = open(name -> "old", LONG_TTL);
+        assertEquals("old", first.texture("alice").get(5, TimeUnit.SECONDS));
+        close(first);
+
+        AtomicInteger calls = new AtomicInteger();
+        SkullService second = open(name -> {
+            calls.incrementAndGet();
+            return "new";
+        }, LONG_TTL);
+        assertEquals("old", second.texture("alice").get(5, TimeUnit.SECONDS));
+        assertEquals(0, calls.get());
+    }
+
+    @Test
+    void expiredDiskEntryIsResolvedAgain() throws Exception {
+        SkullService first = open(name -> "old", LONG_TTL);
+        first.texture("alice").get(5, TimeUnit.SECONDS);
+        close(first);
+
+        SkullService second = open(name -> "new", Duration.ZERO);
+        assertEquals("new", second.texture("alice").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void expiredTextureIsKeptWhenTheResolverFails() throws Exception {
+        SkullService first = open(name -> "old", LONG_TTL);
+        first.texture("alice").get(5, TimeUnit.SECONDS);
+        first.texture("bob").get(5, TimeUnit.SECONDS);
+        close(first);
+
+        SkullService second = open(name -> {
+            if (name.equals("alice")) {
+                throw new IOException("Profile API unreachable");
+            }
+            return null;
+        }, Duration.ZERO);
+        assertEquals("old", second.texture("alice").get(5, TimeUnit.SECONDS));
+        assertEquals("old", second.texture("bob").get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void unknownNamesAreRemembered() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        SkullService service = open(name -> {
+            calls.incrementAndGet();
+            return null;
+        }, LONG_TTL);
+
+        assertNull(service.texture("nobody").get(5, TimeUnit.SECONDS));
+        assertNull(service.texture("nobody").get(5, TimeUnit.SECONDS));
+        assertEquals(1, calls.get());
+    }
+
+    private SkullService open(SkullService.Resolver resolver, Duration ttl) {
+        SkullService service = new SkullService(plugin, resolver, 16, ttl, dataFolder.resolve("skulls"));
+        services.add(service);
+        return service;
+    }
+
+    private void close(SkullService service) {
+        services.remove(service);
+        service.shutdown(); // Waits for queued disk writes
+    }
+}
\ No newline at end of file
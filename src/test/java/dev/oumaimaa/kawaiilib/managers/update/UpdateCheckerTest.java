@@ -0,0 +1,193 @@
+package dev.oumaimaa.kawaiilib.managers.update;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+import dev.oumaimaa.kawaiilib.TestPlugins;
+import dev.oumaimaa.kawaiilib.annotations.AutoUpdate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UpdateCheckerTest {
+
+    private static final byte[] JAR = randomBytes(300_000);
+
+    @TempDir
+    Path serverFolder;
+
+    private HttpServer server;
+    private UpdateChecker checker;
+    private Path updateFolder;
+    private final List<String> ranges = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.start();
+        checker = new UpdateChecker(TestPlugins.mockPlugin(serverFolder.resolve("KawaiiLib")),
+                Modrinth.class.getAnnotation(AutoUpdate.class));
+        updateFolder = serverFolder.resolve("update");
+        Files.createDirectories(updateFolder);
+    }
+
+    @AfterEach
+    void tearDown() {
+        checker.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void resumesPartialFileWithRangeRequest() throws Exception {
+        serve(exchange -> {
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            long from = Long.parseLong(range.substring("bytes=".length(), range.length() - 1));
+            exchange.getResponseHeaders().set("Content-Range", "bytes " + from + "-" + (JAR.length - 1) + "/" + JAR.length);
+            respond(exchange, 206, Arrays.copyOfRange(JAR, (int) from, JAR.length));
+        });
+        Files.write(partFile("2.0"), Arrays.copyOf(JAR, 100_000));
+
+        assertTrue(download("2.0", sha256(JAR)));
+        assertEquals(List.of("bytes=100000-"), ranges);
+        assertInstalled();
+    }
+
+    @Test
+    void startsOverWhenServerIgnoresRange() throws Exception {
+        serve(exchange -> respond(exchange, 200, JAR));
+        Files.write(partFile("2.0"), randomBytes(100_000)); // Would fail the hash if it was kept
+
+        assertTrue(download("2.0", sha256(JAR)));
+        assertEquals(List.of("bytes=100000-"), ranges);
+        assertInstalled();
+    }
+
+    @Test
+    void startsOverWhenRangeIsNotSatisfiable() throws Exception {
+        serve(exchange -> {
+            if (exchange.getRequestHeaders().containsKey("Range")) {
+                respond(exchange, 416, new byte[0]);
+            } else {
+                respond(exchange, 200, JAR);
+            }
+        });
+        Files.write(partFile("2.0"), randomBytes(JAR.length + 10));
+
+        assertTrue(download("2.0", sha256(JAR)));
+        assertEquals(2, ranges.size());
+        assertEquals("bytes=" + (JAR.length + 10) + "-", ranges.getFirst());
+        assertEquals("", ranges.get(1));
+        assertInstalled();
+    }
+
+    @Test
+    void rejectsDownloadWithWrongHash() throws Exception {
+        serve(exchange -> respond(exchange, 200, JAR));
+
+        assertFalse(download("2.0", sha256(new byte[]{1, 2, 3})));
+        assertFalse(Files.exists(updateFolder.resolve("KawaiiLib.jar")));
+        assertFalse(Files.exists(partFile("2.0")));
+    }
+
+    @Test
+    void removesPartialFilesOfOlderReleases() throws Exception {
+        serve(exchange -> respond(exchange, 200, JAR));
+        Files.write(partFile("1.9"), randomBytes(1_000));
+
+        assertTrue(download("2.0", sha256(JAR)));
+        assertFalse(Files.exists(partFile("1.9")));
+        assertInstalled();
+    }
+
+    @Test
+    void concurrentDownloadsShareOneTransfer() throws Exception {
+        CountDownLatch unblock = new CountDownLatch(1);
+        serve(exchange -> {
+            try {
+                unblock.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, JAR);
+        });
+
+        UpdateChecker.Release update = release("2.0", sha256(JAR));
+        CompletableFuture<Boolean> first = checker.downloadUpdate(update);
+        CompletableFuture<Boolean> second = checker.downloadUpdate(update);
+        assertSame(first, second);
+
+        unblock.countDown();
+        assertTrue(first.get(10, TimeUnit.SECONDS));
+        assertEquals(1, ranges.size());
+        assertInstalled();
+    }
+
+    private boolean download(String version, String hash) throws Exception {
+        return checker.downloadUpdate(release(version, hash)).get(10, TimeUnit.SECONDS);
+    }
+
+    private UpdateChecker.Release release(String version, String hash) {
+        String url = "http://127.0.0.1:" + server.getAddress().getPort() + "/plugin.jar";
+        return new UpdateChecker.Release(version, url, "SHA-256", hash);
+    }
+
+    private void serve(HttpHandler handler) {
+        server.createContext("/plugin.jar", exchange -> {
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            ranges.add(range != null ? range : "");
+            handler.handle(exchange);
+        });
+    }
+
+    private void assertInstalled() throws IOException {
+        assertArrayEquals(JAR, Files.readAllBytes(updateFolder.resolve("KawaiiLib.jar")));
+        assertFalse(Files.exists(partFile("2.0")));
+    }
+
+    private Path partFile(String version) {
+        return updateFolder.resolve("KawaiiLib-" + version + ".jar.part");
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String sha256(byte[] content) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    @AutoUpdate(platform = "MODRINTH", resourceId = "kawaiilib")
+    private static final class Modrinth {
+    }
+}
\ No newline at end of file
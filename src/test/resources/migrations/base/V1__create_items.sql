@@ -0,0 +1,7 @@
+CREATE TABLE items (
+    id INT PRIMARY KEY,
+    name VARCHAR(64) NOT NULL,
+    migrated INT DEFAULT 0 NOT NULL
+);
+
+INSERT INTO items (id, name) VALUES (1, 'apple; red'), (2, 'pear'), (3, 'plum'), (4, 'fig'), (5, 'kiwi');
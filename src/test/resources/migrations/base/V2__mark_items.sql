@@ -0,0 +1,2 @@
+-- kawaii:chunked
+UPDATE items SET migrated = 1 WHERE id IN (SELECT id FROM items WHERE migrated = 0 ORDER BY id LIMIT 2);
@@ -0,0 +1,5 @@
+CREATE TABLE items (
+    id INT PRIMARY KEY,
+    name VARCHAR(128) NOT NULL,
+    migrated INT DEFAULT 0 NOT NULL
+);